@@ -5,6 +5,8 @@ import com.anynom39.anyares.command.*;
 import com.anynom39.anyares.command.completer.*;
 import com.anynom39.anyares.listener.WandListener;
 import com.anynom39.anyares.manager.*;
+import com.anynom39.anyares.operation.RegionCopyOperation;
+import com.anynom39.anyares.operation.SurfaceOperation;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Objects;
@@ -76,17 +78,35 @@ public final class AnyARES_Core extends JavaPlugin {
 
             Objects.requireNonNull(getCommand("set")).setExecutor(new SetCommand(this));
             Objects.requireNonNull(getCommand("set")).setTabCompleter(new SetCommandTabCompleter());
+            Objects.requireNonNull(getCommand("walls")).setExecutor(new SurfaceCommand(this, SurfaceOperation.Surface.WALLS));
+            Objects.requireNonNull(getCommand("walls")).setTabCompleter(new SetCommandTabCompleter());
+            Objects.requireNonNull(getCommand("faces")).setExecutor(new SurfaceCommand(this, SurfaceOperation.Surface.FACES));
+            Objects.requireNonNull(getCommand("faces")).setTabCompleter(new SetCommandTabCompleter());
+            Objects.requireNonNull(getCommand("hollow")).setExecutor(new SurfaceCommand(this, SurfaceOperation.Surface.HOLLOW));
+            Objects.requireNonNull(getCommand("hollow")).setTabCompleter(new SetCommandTabCompleter());
+            Objects.requireNonNull(getCommand("stack")).setExecutor(new RegionCopyCommand(this, RegionCopyOperation.Mode.STACK));
+            Objects.requireNonNull(getCommand("move")).setExecutor(new RegionCopyCommand(this, RegionCopyOperation.Mode.MOVE));
+            Objects.requireNonNull(getCommand("smooth")).setExecutor(new SmoothCommand(this));
+            Objects.requireNonNull(getCommand("overlay")).setExecutor(new OverlayCommand(this));
+            Objects.requireNonNull(getCommand("overlay")).setTabCompleter(new SetCommandTabCompleter());
+            Objects.requireNonNull(getCommand("setbiome")).setExecutor(new SetBiomeCommand(this));
+            Objects.requireNonNull(getCommand("setbiome")).setTabCompleter(new SetBiomeCommandTabCompleter());
 
             Objects.requireNonNull(getCommand("copy")).setExecutor(new CopyCommand(this));
             Objects.requireNonNull(getCommand("cut")).setExecutor(new CutCommand(this));
             Objects.requireNonNull(getCommand("paste")).setExecutor(new PasteCommand(this));
             Objects.requireNonNull(getCommand("paste")).setTabCompleter(new PasteCommandTabCompleter());
+            Objects.requireNonNull(getCommand("rotate")).setExecutor(new RotateCommand(this));
+            Objects.requireNonNull(getCommand("flip")).setExecutor(new FlipCommand(this));
 
             Objects.requireNonNull(getCommand("replace")).setExecutor(new ReplaceCommand(this));
             Objects.requireNonNull(getCommand("replace")).setTabCompleter(new ReplaceCommandTabCompleter());
             Objects.requireNonNull(getCommand("replacenear")).setExecutor(new ReplaceNearCommand(this));
             Objects.requireNonNull(getCommand("replacenear")).setTabCompleter(new ReplaceNearCommandTabCompleter());
 
+            Objects.requireNonNull(getCommand("cancel")).setExecutor(new CancelCommand(this));
+            Objects.requireNonNull(getCommand("pause")).setExecutor(new PauseCommand(this));
+
         } catch (NullPointerException e) {
             getLogger().log(Level.SEVERE, "Could not register a core command! Check plugin.yml and command setup.", e);
         }
@@ -2,6 +2,8 @@ package com.anynom39.anyares.api;
 
 import com.anynom39.anyares.AnyARES_Core;
 import com.anynom39.anyares.manager.*;
+import com.anynom39.anyares.operation.ExtentWriter;
+import com.anynom39.anyares.operation.SectionFlusher;
 import com.anynom39.anyares.selection.PlayerSelection;
 import com.anynom39.anyares.selection.Selection;
 import com.anynom39.anyares.selection.SelectionType;
@@ -179,6 +181,21 @@ public class AnyAresAPI {
         getSelectionManager().clearPlayerSelection(player);
     }
 
+    /**
+     * Installs the {@link SectionFlusher} that writes buffered chunk sections for all edits.
+     * Addons with access to server internals can use this to replace the portable Bukkit
+     * implementation with a faster one. A flusher that reports
+     * {@link SectionFlusher#supportsDeferredUpdates()} also lets large edits skip per-block
+     * lighting and client updates and refresh each changed chunk once instead.
+     *
+     * @param flusher The flusher, or null to restore the default Bukkit implementation.
+     */
+    public static void registerSectionFlusher(@Nullable SectionFlusher flusher) {
+        ensureAvailable();
+        ExtentWriter.setSectionFlusher(flusher);
+        getCorePlugin().getLogger().info("Section flusher set to " + ExtentWriter.getSectionFlusher().getClass().getName());
+    }
+
     // --- Future API methods for Addon Registration ---
     // Example:
     // public static void registerSelectionType(String name, Class<? extends Selection> selectionClass, SelectionFactory factory, ShapeVisualizer visualizer) {
@@ -5,37 +5,173 @@ import org.bukkit.block.data.BlockData;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Represents a collection of blocks copied to the clipboard.
  * Stores block data relative to an origin point.
  * <p>
  * For simplicity, this initial version will only store BlockData.
  * Future enhancements: entities, biomes, tile entity data.
+ * <p>
+ * //rotate and //flip do not touch the stored blocks; they replace the clipboard with a
+ * {@link #withTransform(ClipboardTransform) transformed view} that remaps on read.
  */
 public class ClipboardObject {
 
-    // BlockData is stored in a 3D array representing the shape.
-    // The array indices are [y][z][x] for somewhat intuitive access if visualized.
-    // (Height first, then depth, then width)
-    private final BlockData[][][] blocks;
+    // BlockData is stored in one flat array in y -> z -> x order, see index(int, int, int, int, int).
+    // Null marks an empty cell: outside the copied shape or the world's height. Empty cells are never pasted.
+    // Rotated and flipped clipboards share the array of the clipboard they were made from.
+    private final BlockData[] blocks;
+    private final int sourceWidth, sourceHeight, sourceLength;
+    private final Vector sourceOrigin; // Relative origin of the untransformed blocks.
+    private final ClipboardTransform transform; // From the stored blocks to this view.
+    // View coordinates -> stored coordinates: sx = baseX + xFromX * x + xFromZ * z, and so on.
+    private final int baseX, baseY, baseZ;
+    private final int xFromX, xFromZ, zFromX, zFromZ, yFromY;
+    // Transformed block states, so each distinct state is reoriented once. Null for the identity transform.
+    private final Map<BlockData, BlockData> transformedStates;
+
     private final Vector dimensions; // Width (x), Height (y), Length (z)
+    private final int width, height, length;
     private final Vector relativeOrigin; // Player's position relative to the min point of the copied selection.
     // This helps in pasting relative to where the player was standing.
     private final World originalWorld; // For context, though paste can be cross-world.
+    // One bit per 16x16x16 clipboard section that holds something other than air or empty cells. Built on demand.
+    private volatile BitSet solidSections;
 
     /**
      * Creates a new ClipboardObject.
      *
-     * @param blocks         The 3D array of BlockData. blocks[y][z][x].
+     * @param blocks         The flat BlockData array, indexed by {@link #index(int, int, int, int, int)}; null entries are empty.
      * @param dimensions     The dimensions (width, height, length) of the copied area.
      * @param relativeOrigin The player's offset from the selection's minimum corner at the time of copy.
      * @param originalWorld  The world from which the data was copied.
      */
+    public ClipboardObject(@NotNull BlockData[] blocks, @NotNull Vector dimensions, @NotNull Vector relativeOrigin, @NotNull World originalWorld) {
+        this(blocks, dimensions.getBlockX(), dimensions.getBlockY(), dimensions.getBlockZ(), relativeOrigin.clone(), originalWorld, ClipboardTransform.IDENTITY);
+        if ((long) blocks.length != (long) width * height * length) {
+            throw new IllegalArgumentException("Block array length " + blocks.length + " does not match dimensions " + dimensions);
+        }
+    }
+
+    /**
+     * Creates a new ClipboardObject from a nested array, copying it into the flat layout.
+     *
+     * @param blocks         The 3D array of BlockData. blocks[y][z][x]; missing rows and null entries are empty.
+     * @param dimensions     The dimensions (width, height, length) of the copied area.
+     * @param relativeOrigin The player's offset from the selection's minimum corner at the time of copy.
+     * @param originalWorld  The world from which the data was copied.
+     * @deprecated Pass the flat array indexed by {@link #index(int, int, int, int, int)} instead;
+     * this constructor copies every block once.
+     */
+    @Deprecated
     public ClipboardObject(@NotNull BlockData[][][] blocks, @NotNull Vector dimensions, @NotNull Vector relativeOrigin, @NotNull World originalWorld) {
-        this.blocks = blocks; // Assume the input array is correctly structured and deep-copied if needed before passing.
-        this.dimensions = dimensions.clone();
-        this.relativeOrigin = relativeOrigin.clone();
+        this(flatten(blocks, dimensions), dimensions, relativeOrigin, originalWorld);
+    }
+
+    private static BlockData[] flatten(BlockData[][][] blocks, Vector dimensions) {
+        int width = dimensions.getBlockX(), height = dimensions.getBlockY(), length = dimensions.getBlockZ();
+        if (!fitsDimensions(width, height, length)) {
+            throw new IllegalArgumentException("Clipboard dimensions " + dimensions + " are too large");
+        }
+        BlockData[] flat = new BlockData[width * height * length];
+        for (int y = 0; y < Math.min(height, blocks.length); y++) {
+            BlockData[][] layer = blocks[y];
+            if (layer == null) continue;
+            for (int z = 0; z < Math.min(length, layer.length); z++) {
+                BlockData[] row = layer[z];
+                if (row == null) continue;
+                System.arraycopy(row, 0, flat, index(0, y, z, width, length), Math.min(width, row.length));
+            }
+        }
+        return flat;
+    }
+
+    private ClipboardObject(BlockData[] blocks, int sourceWidth, int sourceHeight, int sourceLength, Vector sourceOrigin,
+                            World originalWorld, ClipboardTransform transform) {
+        this.blocks = blocks; // Taken over as-is; callers hand in a freshly filled array.
+        this.sourceWidth = sourceWidth;
+        this.sourceHeight = sourceHeight;
+        this.sourceLength = sourceLength;
+        this.sourceOrigin = sourceOrigin;
         this.originalWorld = originalWorld;
+        this.transform = transform;
+
+        if (transform.isIdentity()) {
+            this.width = sourceWidth;
+            this.height = sourceHeight;
+            this.length = sourceLength;
+            this.baseX = this.baseY = this.baseZ = 0;
+            this.xFromX = this.zFromZ = this.yFromY = 1;
+            this.xFromZ = this.zFromX = 0;
+            this.relativeOrigin = sourceOrigin.clone();
+            this.transformedStates = null;
+        } else {
+            // Turn around the block the player stood on, so pasting from the same spot keeps the build in place.
+            int originX = sourceOrigin.getBlockX(), originY = sourceOrigin.getBlockY(), originZ = sourceOrigin.getBlockZ();
+            int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+            for (int cornerX : new int[]{-originX, sourceWidth - 1 - originX}) {
+                for (int cornerZ : new int[]{-originZ, sourceLength - 1 - originZ}) {
+                    minX = Math.min(minX, transform.applyX(cornerX, cornerZ));
+                    minZ = Math.min(minZ, transform.applyZ(cornerX, cornerZ));
+                }
+            }
+            int minY = Math.min(transform.applyY(-originY), transform.applyY(sourceHeight - 1 - originY));
+
+            this.width = transform.swapsAxes() ? sourceLength : sourceWidth;
+            this.height = sourceHeight;
+            this.length = transform.swapsAxes() ? sourceWidth : sourceLength;
+
+            ClipboardTransform inverse = transform.inverse();
+            this.xFromX = inverse.applyX(1, 0);
+            this.xFromZ = inverse.applyX(0, 1);
+            this.zFromX = inverse.applyZ(1, 0);
+            this.zFromZ = inverse.applyZ(0, 1);
+            this.yFromY = inverse.applyY(1);
+            this.baseX = inverse.applyX(minX, minZ) + originX;
+            this.baseZ = inverse.applyZ(minX, minZ) + originZ;
+            this.baseY = inverse.applyY(minY) + originY;
+            this.relativeOrigin = new Vector(-minX, -minY, -minZ);
+            this.transformedStates = new ConcurrentHashMap<>();
+        }
+        this.dimensions = new Vector(width, height, length);
+    }
+
+    /**
+     * Returns a rotated or flipped view of the same blocks. Nothing is copied: positions and
+     * block states are remapped when they are read, and every distinct state is reoriented once.
+     *
+     * @param transform The orientation relative to the stored blocks, e.g. {@code getTransform().rotateY(90)}.
+     */
+    @NotNull
+    public ClipboardObject withTransform(@NotNull ClipboardTransform transform) {
+        return new ClipboardObject(blocks, sourceWidth, sourceHeight, sourceLength, sourceOrigin, originalWorld, transform);
+    }
+
+    /**
+     * @return The orientation of this clipboard relative to the blocks as they were copied.
+     */
+    @NotNull
+    public ClipboardTransform getTransform() {
+        return transform;
+    }
+
+    /**
+     * Position of a relative coordinate in the flat block array of a clipboard with the given
+     * width and length.
+     */
+    public static int index(int x, int y, int z, int width, int length) {
+        return (y * length + z) * width + x;
+    }
+
+    /**
+     * @return Whether a clipboard of these dimensions fits into one array.
+     */
+    public static boolean fitsDimensions(int width, int height, int length) {
+        return (long) width * height * length <= Integer.MAX_VALUE - 8;
     }
 
     /**
@@ -44,15 +180,29 @@ public class ClipboardObject {
      * @param x Relative X (0 to width-1)
      * @param y Relative Y (0 to height-1)
      * @param z Relative Z (0 to length-1)
-     * @return The BlockData, or null if out of bounds.
+     * @return The BlockData, or null if out of bounds or the cell is empty.
      */
     public BlockData getBlockData(int x, int y, int z) {
-        if (y < 0 || y >= dimensions.getBlockY() ||
-                z < 0 || z >= dimensions.getBlockZ() ||
-                x < 0 || x >= dimensions.getBlockX()) {
+        if (y < 0 || y >= height ||
+                z < 0 || z >= length ||
+                x < 0 || x >= width) {
             return null; // Out of bounds
         }
-        return blocks[y][z][x];
+        BlockData stored = storedBlockData(x, y, z);
+        if (stored == null || transformedStates == null) {
+            return stored;
+        }
+        return transformedStates.computeIfAbsent(stored, transform::apply);
+    }
+
+    /**
+     * The stored block behind a view coordinate, without reorienting its state.
+     */
+    private BlockData storedBlockData(int x, int y, int z) {
+        int sourceX = baseX + xFromX * x + xFromZ * z;
+        int sourceY = baseY + yFromY * y;
+        int sourceZ = baseZ + zFromX * x + zFromZ * z;
+        return blocks[index(sourceX, sourceY, sourceZ, sourceWidth, sourceLength)];
     }
 
     @NotNull
@@ -61,15 +211,15 @@ public class ClipboardObject {
     }
 
     public int getWidth() {
-        return dimensions.getBlockX();
+        return width;
     }
 
     public int getHeight() {
-        return dimensions.getBlockY();
+        return height;
     }
 
     public int getLength() {
-        return dimensions.getBlockZ();
+        return length;
     }
 
     @NotNull
@@ -85,4 +235,48 @@ public class ClipboardObject {
     public long getVolume() {
         return (long) getWidth() * getHeight() * getLength();
     }
+
+    /**
+     * Checks whether a 16x16x16 section of the clipboard (in clipboard coordinates, so
+     * {@code sectionX = x >> 4}) contains only air and empty cells. Builds the section
+     * index on first use.
+     */
+    public boolean isAirSection(int sectionX, int sectionY, int sectionZ) {
+        BitSet solid = solidSections;
+        if (solid == null) {
+            solid = buildSectionIndex();
+        }
+        return !solid.get(sectionBit(sectionX, sectionY, sectionZ));
+    }
+
+    /**
+     * Scans the clipboard once to find its pure-air sections, in this view's coordinates.
+     * Later calls return the cached result; the blocks never change after construction.
+     */
+    @NotNull
+    public synchronized BitSet buildSectionIndex() {
+        if (solidSections != null) {
+            return solidSections;
+        }
+        BitSet solid = new BitSet();
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    BlockData blockData = storedBlockData(x, y, z); // Reorienting never turns air into a block.
+                    if (blockData != null && !blockData.getMaterial().isAir()) {
+                        solid.set(sectionBit(x >> 4, y >> 4, z >> 4));
+                        x |= 15; // The rest of this section's row cannot add anything.
+                    }
+                }
+            }
+        }
+        solidSections = solid;
+        return solid;
+    }
+
+    private int sectionBit(int sectionX, int sectionY, int sectionZ) {
+        int sectionsX = (width + 15) >> 4;
+        int sectionsZ = (length + 15) >> 4;
+        return (sectionY * sectionsZ + sectionZ) * sectionsX + sectionX;
+    }
 }
\ No newline at end of file
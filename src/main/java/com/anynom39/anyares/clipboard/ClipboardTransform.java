@@ -0,0 +1,181 @@
+package com.anynom39.anyares.clipboard;
+
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Bisected;
+import org.bukkit.block.data.Directional;
+import org.bukkit.block.data.FaceAttachable;
+import org.bukkit.block.data.MultipleFacing;
+import org.bukkit.block.data.type.PointedDripstone;
+import org.bukkit.block.data.type.Slab;
+import org.bukkit.block.structure.Mirror;
+import org.bukkit.block.structure.StructureRotation;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An orientation change of a clipboard: quarter turns around the Y axis, an optional mirror
+ * along X and an optional vertical flip. Every combination of //rotate and //flip reduces to
+ * this form, so transforms compose without growing.
+ * <p>
+ * Horizontally the transform maps a clipboard-relative offset {@code (x, z)} to
+ * {@code R^quarterTurns(Mx^mirrorX(x, z))}, where {@code R} turns clockwise seen from above
+ * (north to east) and {@code Mx} negates X. Block states are remapped the same way with
+ * {@link BlockData#mirror(Mirror)} and {@link BlockData#rotate(StructureRotation)}.
+ */
+public final class ClipboardTransform {
+
+    public static final ClipboardTransform IDENTITY = new ClipboardTransform(0, false, false);
+
+    private static final StructureRotation[] ROTATIONS = {
+            StructureRotation.NONE, StructureRotation.CLOCKWISE_90, StructureRotation.CLOCKWISE_180, StructureRotation.COUNTERCLOCKWISE_90
+    };
+
+    private final int quarterTurns; // 0..3, clockwise seen from above.
+    private final boolean mirrorX;
+    private final boolean flipY;
+
+    private ClipboardTransform(int quarterTurns, boolean mirrorX, boolean flipY) {
+        this.quarterTurns = Math.floorMod(quarterTurns, 4);
+        this.mirrorX = mirrorX;
+        this.flipY = flipY;
+    }
+
+    /**
+     * This transform followed by a clockwise rotation around the Y axis.
+     *
+     * @param degrees A multiple of 90; negative values turn counter-clockwise.
+     * @throws IllegalArgumentException If the angle is not a multiple of 90.
+     */
+    @NotNull
+    public ClipboardTransform rotateY(int degrees) {
+        if (degrees % 90 != 0) {
+            throw new IllegalArgumentException("Rotation must be a multiple of 90 degrees: " + degrees);
+        }
+        return new ClipboardTransform(quarterTurns + degrees / 90, mirrorX, flipY);
+    }
+
+    /**
+     * This transform followed by a flip along the axis of the given direction.
+     *
+     * @param direction One of the six cardinal faces.
+     * @throws IllegalArgumentException For other faces.
+     */
+    @NotNull
+    public ClipboardTransform flip(@NotNull BlockFace direction) {
+        return switch (direction) {
+            // Mx R^k Mx^m = R^-k Mx^(m+1)
+            case EAST, WEST -> new ClipboardTransform(-quarterTurns, !mirrorX, flipY);
+            // Mz = R^2 Mx, so Mz R^k Mx^m = R^(2-k) Mx^(m+1)
+            case NORTH, SOUTH -> new ClipboardTransform(2 - quarterTurns, !mirrorX, flipY);
+            case UP, DOWN -> new ClipboardTransform(quarterTurns, mirrorX, !flipY);
+            default -> throw new IllegalArgumentException("Can only flip along a cardinal direction: " + direction);
+        };
+    }
+
+    /**
+     * The transform that undoes this one.
+     */
+    @NotNull
+    public ClipboardTransform inverse() {
+        // (R^k Mx^m)^-1 = Mx^m R^-k, which is R^k Mx when mirrored and R^-k otherwise.
+        return new ClipboardTransform(mirrorX ? quarterTurns : -quarterTurns, mirrorX, flipY);
+    }
+
+    public boolean isIdentity() {
+        return quarterTurns == 0 && !mirrorX && !flipY;
+    }
+
+    /**
+     * @return Whether the transform swaps the X and Z extents.
+     */
+    public boolean swapsAxes() {
+        return (quarterTurns & 1) == 1;
+    }
+
+    public int applyX(int x, int z) {
+        int mx = mirrorX ? -x : x;
+        return switch (quarterTurns) {
+            case 1 -> -z;
+            case 2 -> -mx;
+            case 3 -> z;
+            default -> mx;
+        };
+    }
+
+    public int applyY(int y) {
+        return flipY ? -y : y;
+    }
+
+    public int applyZ(int x, int z) {
+        int mx = mirrorX ? -x : x;
+        return switch (quarterTurns) {
+            case 1 -> mx;
+            case 2 -> -z;
+            case 3 -> -mx;
+            default -> z;
+        };
+    }
+
+    /**
+     * Reorients a block state, e.g. the facing of stairs or the half of a slab.
+     *
+     * @return A transformed copy, or the same instance for the identity transform.
+     */
+    @NotNull
+    public BlockData apply(@NotNull BlockData blockData) {
+        if (isIdentity()) {
+            return blockData;
+        }
+        BlockData transformed = blockData.clone();
+        if (mirrorX) {
+            transformed.mirror(Mirror.FRONT_BACK); // Swaps east and west.
+        }
+        if (quarterTurns != 0) {
+            transformed.rotate(ROTATIONS[quarterTurns]);
+        }
+        if (flipY) {
+            flipVertically(transformed);
+        }
+        return transformed;
+    }
+
+    /**
+     * Bukkit has no vertical mirror, so the common up/down properties are swapped by hand.
+     */
+    private static void flipVertically(BlockData blockData) {
+        if (blockData instanceof Slab slab) {
+            if (slab.getType() != Slab.Type.DOUBLE) {
+                slab.setType(slab.getType() == Slab.Type.TOP ? Slab.Type.BOTTOM : Slab.Type.TOP);
+            }
+        } else if (blockData instanceof Bisected bisected) {
+            bisected.setHalf(bisected.getHalf() == Bisected.Half.TOP ? Bisected.Half.BOTTOM : Bisected.Half.TOP);
+        }
+        if (blockData instanceof Directional directional) {
+            BlockFace facing = directional.getFacing();
+            if ((facing == BlockFace.UP || facing == BlockFace.DOWN) && directional.getFaces().contains(facing.getOppositeFace())) {
+                directional.setFacing(facing.getOppositeFace());
+            }
+        }
+        if (blockData instanceof FaceAttachable attachable) {
+            if (attachable.getAttachedFace() == FaceAttachable.AttachedFace.FLOOR) {
+                attachable.setAttachedFace(FaceAttachable.AttachedFace.CEILING);
+            } else if (attachable.getAttachedFace() == FaceAttachable.AttachedFace.CEILING) {
+                attachable.setAttachedFace(FaceAttachable.AttachedFace.FLOOR);
+            }
+        }
+        if (blockData instanceof MultipleFacing multipleFacing
+                && multipleFacing.getAllowedFaces().contains(BlockFace.UP) && multipleFacing.getAllowedFaces().contains(BlockFace.DOWN)) {
+            boolean up = multipleFacing.hasFace(BlockFace.UP);
+            multipleFacing.setFace(BlockFace.UP, multipleFacing.hasFace(BlockFace.DOWN));
+            multipleFacing.setFace(BlockFace.DOWN, up);
+        }
+        if (blockData instanceof PointedDripstone dripstone) {
+            dripstone.setVerticalDirection(dripstone.getVerticalDirection() == BlockFace.UP ? BlockFace.DOWN : BlockFace.UP);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ClipboardTransform{rotation=" + (quarterTurns * 90) + ", mirrorX=" + mirrorX + ", flipY=" + flipY + "}";
+    }
+}
\ No newline at end of file
@@ -57,6 +57,7 @@ public class AnyAresCommand implements CommandExecutor {
                 MessageUtil.sendMessage(sender, "&e - Version: &f" + plugin.getDescription().getVersion());
                 MessageUtil.sendMessage(sender, "&e - Task Engine Queue: &f" + taskEngine.getQueueSize());
                 MessageUtil.sendMessage(sender, "&e - Active Operations: &f" + taskEngine.getActiveOperations());
+                MessageUtil.sendMessage(sender, "&e - Tick Budget: &f" + taskEngine.describeTickBudget());
                 break;
             case "queue":
                 if (!sender.hasPermission("anyares.queue.manage")) {
@@ -65,6 +66,7 @@ public class AnyAresCommand implements CommandExecutor {
                 }
                 MessageUtil.sendMessage(sender, "&eTask Engine Queue: &f" + taskEngine.getQueueSize() + " operations pending.");
                 MessageUtil.sendMessage(sender, "&eActive Operations: &f" + taskEngine.getActiveOperations());
+                MessageUtil.sendMessage(sender, "&eLocked Chunks: &f" + taskEngine.getLockedChunkCount());
                 break;
             case "history":
                 if (!(sender instanceof Player player)) {
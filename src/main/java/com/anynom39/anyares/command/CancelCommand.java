@@ -0,0 +1,84 @@
+package com.anynom39.anyares.command;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.api.AnyAresAPI;
+import com.anynom39.anyares.manager.OperationHandle;
+import com.anynom39.anyares.manager.TaskEngine;
+import com.anynom39.anyares.util.MessageUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.logging.Level;
+
+public class CancelCommand implements CommandExecutor {
+    private final AnyARES_Core plugin;
+
+    public CancelCommand(AnyARES_Core plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!sender.hasPermission("anyares.operation.cancel")) {
+            MessageUtil.sendMessage(sender, "&cYou don't have permission to use this command.");
+            return true;
+        }
+
+        if (!AnyAresAPI.isAvailable()) {
+            MessageUtil.sendMessage(sender, "&cAnyARES-Core is not available.");
+            plugin.getLogger().warning("/cancel used by " + sender.getName() + " but API is unavailable.");
+            return true;
+        }
+
+        TaskEngine taskEngine;
+        try {
+            taskEngine = AnyAresAPI.getTaskEngine();
+        } catch (IllegalStateException e) {
+            MessageUtil.sendMessage(sender, "&cError accessing AnyARES-Core components: " + e.getMessage());
+            plugin.getLogger().log(Level.SEVERE, "Failed to access Core components for /cancel by " + sender.getName(), e);
+            return true;
+        }
+
+        List<OperationHandle> handles;
+        if (args.length > 0) {
+            if (!sender.hasPermission("anyares.queue.manage")) {
+                MessageUtil.sendMessage(sender, "&cYou don't have permission to cancel other players' operations.");
+                return true;
+            }
+            if (args[0].equalsIgnoreCase("all")) {
+                handles = taskEngine.getHandles();
+            } else {
+                Player target = Bukkit.getPlayerExact(args[0]);
+                if (target == null) {
+                    MessageUtil.sendMessage(sender, "&cPlayer &e" + args[0] + "&c is not online.");
+                    return true;
+                }
+                handles = taskEngine.getHandles(target);
+            }
+        } else if (sender instanceof Player player) {
+            handles = taskEngine.getHandles(player);
+        } else {
+            MessageUtil.sendMessage(sender, "&cUsage from console: /" + label + " <player|all>");
+            return true;
+        }
+
+        int cancelled = 0;
+        for (OperationHandle handle : handles) {
+            if (handle.cancel()) {
+                cancelled++;
+            }
+        }
+
+        if (cancelled == 0) {
+            MessageUtil.sendMessage(sender, "&7No queued or running operations to cancel.");
+        } else {
+            MessageUtil.sendMessage(sender, "&eCancelling &6" + cancelled + "&e operation(s). Running ones stop at their next checkpoint.");
+        }
+        return true;
+    }
+}
\ No newline at end of file
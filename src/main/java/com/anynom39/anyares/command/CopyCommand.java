@@ -63,8 +63,8 @@ public class CopyCommand implements CommandExecutor {
             return true;
         }
 
-        CopyOperation copyOp = new CopyOperation(player, selection, clipboardManager, false);
-        taskEngine.submitOperation(copyOp)
+        CopyOperation copyOp = new CopyOperation(player, selection, clipboardManager);
+        taskEngine.submitOperation(copyOp).getFuture()
                 .whenComplete((changeSet, throwable) -> {
                     if (throwable == null) {
                         ClipboardObject clipboard = clipboardManager.getPlayerClipboard(player);
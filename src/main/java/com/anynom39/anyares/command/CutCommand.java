@@ -6,20 +6,15 @@ import com.anynom39.anyares.clipboard.ClipboardObject;
 import com.anynom39.anyares.manager.ClipboardManager;
 import com.anynom39.anyares.manager.SelectionManager;
 import com.anynom39.anyares.manager.TaskEngine;
-import com.anynom39.anyares.operation.CopyOperation;
-import com.anynom39.anyares.operation.SetOperation;
+import com.anynom39.anyares.operation.CutOperation;
 import com.anynom39.anyares.selection.Selection;
-import com.anynom39.anyares.util.BlockPatternParser;
-import com.anynom39.anyares.util.BlockPatternParser.WeightedBlockData;
 import com.anynom39.anyares.util.MessageUtil;
-import org.bukkit.Material;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
 import java.util.logging.Level;
 
 public class CutCommand implements CommandExecutor {
@@ -66,36 +61,17 @@ public class CutCommand implements CommandExecutor {
             return true;
         }
 
-        CopyOperation copyOp = new CopyOperation(player, selection, clipboardManager, true);
-        taskEngine.submitOperation(copyOp)
-                .thenAcceptAsync(emptyChangeSet -> {
-                    ClipboardObject clipboard = clipboardManager.getPlayerClipboard(player);
-                    if (clipboard != null) {
-                        MessageUtil.sendMessage(player, "&aCut " + clipboard.getVolume() + " blocks (" + selection.getTypeName() + ") to clipboard. Clearing original area...");
-
-                        String airPatternString = Material.AIR.getKey().toString();
-                        try {
-                            List<WeightedBlockData> airPatternList =
-                                    BlockPatternParser.parseComplexPatternForReplacement(airPatternString);
-                            if (airPatternList.isEmpty()) {
-                                MessageUtil.sendMessage(player, "&cInternal error: Could not parse 'air' for cut. Area not cleared.");
-                                plugin.getLogger().warning("CutCommand: Failed to parse 'minecraft:air' pattern.");
-                                return;
-                            }
-                            SetOperation clearOp = new SetOperation(player, selection, airPatternList, airPatternString);
-                            taskEngine.submitOperation(clearOp);
-                        } catch (IllegalArgumentException e) {
-                            MessageUtil.sendMessage(player, "&cInternal error during cut (clear phase): " + e.getMessage());
-                            plugin.getLogger().log(Level.SEVERE, "CutCommand: Error parsing 'air' pattern for SetOperation.", e);
+        CutOperation cutOp = new CutOperation(player, selection, clipboardManager);
+        taskEngine.submitOperation(cutOp).getFuture()
+                .whenComplete((changeSet, throwable) -> {
+                    if (throwable == null) {
+                        ClipboardObject clipboard = clipboardManager.getPlayerClipboard(player);
+                        if (clipboard != null) {
+                            MessageUtil.sendMessage(player, "&aCut " + clipboard.getVolume() + " blocks (" + selection.getTypeName() + ") to your clipboard.");
+                        } else {
+                            MessageUtil.sendMessage(player, "&cCut operation completed, but clipboard seems empty.");
                         }
-                    } else {
-                        MessageUtil.sendMessage(player, "&cFailed to copy selection for cut. Original area not cleared.");
                     }
-                }, plugin.getServer().getScheduler().getMainThreadExecutor(plugin))
-                .exceptionally(throwable -> {
-                    MessageUtil.sendMessage(player, "&cError during copy phase of cut: " + throwable.getMessage());
-                    plugin.getLogger().log(Level.WARNING, "CutCommand: CopyOperation failed.", throwable);
-                    return null;
                 });
 
         return true;
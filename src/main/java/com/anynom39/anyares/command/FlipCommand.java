@@ -0,0 +1,79 @@
+package com.anynom39.anyares.command;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.api.AnyAresAPI;
+import com.anynom39.anyares.clipboard.ClipboardObject;
+import com.anynom39.anyares.manager.ClipboardManager;
+import com.anynom39.anyares.util.Directions;
+import com.anynom39.anyares.util.MessageUtil;
+import org.bukkit.block.BlockFace;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.logging.Level;
+
+/**
+ * Mirrors the clipboard along a direction, by default the one the player is looking in. Only
+ * the clipboard's view changes; the blocks are reoriented when they are pasted.
+ */
+public class FlipCommand implements CommandExecutor {
+
+    private final AnyARES_Core plugin;
+
+    public FlipCommand(AnyARES_Core plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!(sender instanceof Player player)) {
+            MessageUtil.sendMessage(sender, "&cThis command can only be used by players.");
+            return true;
+        }
+
+        if (!player.hasPermission("anyares.clipboard.flip")) {
+            MessageUtil.sendMessage(player, "&cYou don't have permission to use this command.");
+            return true;
+        }
+
+        if (args.length > 1) {
+            MessageUtil.sendMessage(player, "&cUsage: //flip [north|south|east|west|up|down|me]");
+            return true;
+        }
+
+        BlockFace direction = args.length == 0 ? Directions.facingOf(player) : Directions.parse(player, args[0]);
+        if (direction == null) {
+            MessageUtil.sendMessage(player, "&cUnknown direction: " + args[0]);
+            return true;
+        }
+
+        if (!AnyAresAPI.isAvailable()) {
+            MessageUtil.sendMessage(player, "&cAnyARES-Core is not available.");
+            plugin.getLogger().warning("/flip used by " + player.getName() + " but API is unavailable.");
+            return true;
+        }
+
+        ClipboardManager clipboardManager;
+        try {
+            clipboardManager = AnyAresAPI.getClipboardManager();
+        } catch (IllegalStateException e) {
+            MessageUtil.sendMessage(player, "&cError accessing AnyARES-Core components: " + e.getMessage());
+            plugin.getLogger().log(Level.SEVERE, "Failed to access Core components for /flip by " + player.getName(), e);
+            return true;
+        }
+
+        ClipboardObject clipboard = clipboardManager.getPlayerClipboard(player);
+        if (clipboard == null) {
+            MessageUtil.sendMessage(player, "&cYour clipboard is empty. Use /copy or /cut first.");
+            return true;
+        }
+
+        clipboardManager.setPlayerClipboard(player, clipboard.withTransform(clipboard.getTransform().flip(direction)));
+        MessageUtil.sendMessage(player, "&aClipboard flipped along &e" + direction.name().toLowerCase(Locale.ROOT) + "&a.");
+        return true;
+    }
+}
\ No newline at end of file
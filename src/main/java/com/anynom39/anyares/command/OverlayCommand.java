@@ -0,0 +1,104 @@
+package com.anynom39.anyares.command;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.api.AnyAresAPI;
+import com.anynom39.anyares.manager.SelectionManager;
+import com.anynom39.anyares.manager.TaskEngine;
+import com.anynom39.anyares.operation.DryRunOperation;
+import com.anynom39.anyares.operation.OverlayOperation;
+import com.anynom39.anyares.selection.Selection;
+import com.anynom39.anyares.util.BlockPatternParser;
+import com.anynom39.anyares.util.CommandArgs;
+import com.anynom39.anyares.util.MessageUtil;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Handles //overlay, which places a pattern on top of the ground in the selection.
+ */
+public class OverlayCommand implements CommandExecutor {
+
+    private final AnyARES_Core plugin;
+
+    public OverlayCommand(AnyARES_Core plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!(sender instanceof Player player)) {
+            MessageUtil.sendMessage(sender, "&cThis command can only be used by players.");
+            return true;
+        }
+
+        if (!player.hasPermission("anyares.operation.overlay")) {
+            MessageUtil.sendMessage(player, "&cYou don't have permission to use this command.");
+            return true;
+        }
+
+        if (!AnyAresAPI.isAvailable()) {
+            MessageUtil.sendMessage(player, "&cAnyARES-Core is not available. Please contact an administrator.");
+            plugin.getLogger().warning("OverlayCommand used by " + player.getName() + " but AnyAresAPI is not available.");
+            return true;
+        }
+
+        SelectionManager selectionManager;
+        TaskEngine taskEngine;
+        try {
+            selectionManager = AnyAresAPI.getSelectionManager();
+            taskEngine = AnyAresAPI.getTaskEngine();
+        } catch (IllegalStateException e) {
+            MessageUtil.sendMessage(player, "&cError accessing AnyARES-Core components: " + e.getMessage());
+            plugin.getLogger().log(Level.SEVERE, "Failed to access Core components for /" + label + " by " + player.getName(), e);
+            return true;
+        }
+
+        Selection selection = selectionManager.getActiveSelection(player);
+        if (selection == null) {
+            MessageUtil.sendMessage(player, "&cYou must make a complete selection first.");
+            return true;
+        }
+
+        CommandArgs commandArgs = new CommandArgs(args);
+        boolean dryRun = commandArgs.takeFlag("-n");
+        Long seed;
+        try {
+            seed = commandArgs.takeSeed();
+        } catch (IllegalArgumentException e) {
+            MessageUtil.sendMessage(player, "&c" + e.getMessage());
+            return true;
+        }
+        args = commandArgs.remaining();
+
+        if (args.length != 1) {
+            MessageUtil.sendMessage(player, "&cUsage: /" + label + " <pattern> [-s <seed>] [-n]");
+            MessageUtil.sendMessage(player, "&cExample: /" + label + " 70%grass_block,30%coarse_dirt");
+            return true;
+        }
+
+        String patternString = args[0];
+        List<BlockPatternParser.WeightedBlockData> patternList;
+        try {
+            patternList = BlockPatternParser.parseComplexPatternForReplacement(patternString);
+            if (patternList.isEmpty()) {
+                MessageUtil.sendMessage(player, "&cPattern resulted in no valid blocks: &e" + patternString);
+                return true;
+            }
+        } catch (IllegalArgumentException e) {
+            MessageUtil.sendMessage(player, "&cInvalid block pattern: &e" + patternString);
+            MessageUtil.sendMessage(player, "&cError: &7" + e.getMessage());
+            return true;
+        }
+
+        OverlayOperation overlayOperation = new OverlayOperation(player, selection, patternList, patternString, seed);
+        taskEngine.submitOperation(dryRun ? new DryRunOperation(overlayOperation) : overlayOperation);
+
+        return true;
+    }
+}
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.anynom39.anyares.api.AnyAresAPI;
 import com.anynom39.anyares.clipboard.ClipboardObject;
 import com.anynom39.anyares.manager.ClipboardManager;
 import com.anynom39.anyares.manager.TaskEngine;
+import com.anynom39.anyares.operation.DryRunOperation;
 import com.anynom39.anyares.operation.PasteOperation;
 import com.anynom39.anyares.util.MessageUtil;
 import org.bukkit.command.Command;
@@ -59,14 +60,17 @@ public class PasteCommand implements CommandExecutor {
         }
 
         boolean pasteAir = false;
+        boolean dryRun = false;
         for (String arg : args) {
             if (arg.equalsIgnoreCase("-a")) {
                 pasteAir = true;
+            } else if (arg.equalsIgnoreCase("-n")) {
+                dryRun = true;
             }
         }
 
         PasteOperation pasteOp = new PasteOperation(player, clipboard, player.getLocation(), pasteAir);
-        taskEngine.submitOperation(pasteOp);
+        taskEngine.submitOperation(dryRun ? new DryRunOperation(pasteOp) : pasteOp);
 
         return true;
     }
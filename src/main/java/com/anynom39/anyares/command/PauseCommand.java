@@ -0,0 +1,76 @@
+package com.anynom39.anyares.command;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.api.AnyAresAPI;
+import com.anynom39.anyares.manager.OperationHandle;
+import com.anynom39.anyares.manager.TaskEngine;
+import com.anynom39.anyares.util.MessageUtil;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Toggles pause on the player's queued and running operations. If any of them is running
+ * unpaused, all are paused; otherwise all paused ones are resumed.
+ */
+public class PauseCommand implements CommandExecutor {
+    private final AnyARES_Core plugin;
+
+    public PauseCommand(AnyARES_Core plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!(sender instanceof Player player)) {
+            MessageUtil.sendMessage(sender, "&cThis command can only be used by players.");
+            return true;
+        }
+
+        if (!player.hasPermission("anyares.operation.pause")) {
+            MessageUtil.sendMessage(player, "&cYou don't have permission to use this command.");
+            return true;
+        }
+
+        if (!AnyAresAPI.isAvailable()) {
+            MessageUtil.sendMessage(player, "&cAnyARES-Core is not available.");
+            plugin.getLogger().warning("/pause used by " + player.getName() + " but API is unavailable.");
+            return true;
+        }
+
+        TaskEngine taskEngine;
+        try {
+            taskEngine = AnyAresAPI.getTaskEngine();
+        } catch (IllegalStateException e) {
+            MessageUtil.sendMessage(player, "&cError accessing AnyARES-Core components: " + e.getMessage());
+            plugin.getLogger().log(Level.SEVERE, "Failed to access Core components for /pause by " + player.getName(), e);
+            return true;
+        }
+
+        List<OperationHandle> handles = taskEngine.getHandles(player);
+        if (handles.isEmpty()) {
+            MessageUtil.sendMessage(player, "&7You have no queued or running operations.");
+            return true;
+        }
+
+        boolean anyActive = handles.stream().anyMatch(handle -> !handle.isPaused());
+        int changed = 0;
+        for (OperationHandle handle : handles) {
+            if (anyActive ? handle.pause() : handle.resume()) {
+                changed++;
+            }
+        }
+
+        if (anyActive) {
+            MessageUtil.sendMessage(player, "&ePaused &6" + changed + "&e operation(s). Use &6//pause&e again to resume or &6//cancel&e to stop them.");
+        } else {
+            MessageUtil.sendMessage(player, "&aResumed &e" + changed + "&a operation(s).");
+        }
+        return true;
+    }
+}
\ No newline at end of file
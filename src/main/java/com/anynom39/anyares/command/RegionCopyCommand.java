@@ -0,0 +1,107 @@
+package com.anynom39.anyares.command;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.api.AnyAresAPI;
+import com.anynom39.anyares.manager.SelectionManager;
+import com.anynom39.anyares.manager.TaskEngine;
+import com.anynom39.anyares.operation.RegionCopyOperation;
+import com.anynom39.anyares.operation.RegionCopyOperation.Mode;
+import com.anynom39.anyares.selection.Selection;
+import com.anynom39.anyares.util.CommandArgs;
+import com.anynom39.anyares.util.Directions;
+import com.anynom39.anyares.util.MessageUtil;
+import org.bukkit.block.BlockFace;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Level;
+
+/**
+ * Handles //stack and //move, which differ only in the {@link Mode} they run.
+ */
+public class RegionCopyCommand implements CommandExecutor {
+
+    private final AnyARES_Core plugin;
+    private final Mode mode;
+
+    public RegionCopyCommand(AnyARES_Core plugin, Mode mode) {
+        this.plugin = plugin;
+        this.mode = mode;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!(sender instanceof Player player)) {
+            MessageUtil.sendMessage(sender, "&cThis command can only be used by players.");
+            return true;
+        }
+
+        String permission = "anyares.operation." + mode.name().toLowerCase();
+        if (!player.hasPermission(permission)) {
+            MessageUtil.sendMessage(player, "&cYou don't have permission to use this command.");
+            return true;
+        }
+
+        if (!AnyAresAPI.isAvailable()) {
+            MessageUtil.sendMessage(player, "&cAnyARES-Core is not available. Please contact an administrator.");
+            plugin.getLogger().warning("RegionCopyCommand used by " + player.getName() + " but AnyAresAPI is not available.");
+            return true;
+        }
+
+        SelectionManager selectionManager;
+        TaskEngine taskEngine;
+        try {
+            selectionManager = AnyAresAPI.getSelectionManager();
+            taskEngine = AnyAresAPI.getTaskEngine();
+        } catch (IllegalStateException e) {
+            MessageUtil.sendMessage(player, "&cError accessing AnyARES-Core components: " + e.getMessage());
+            plugin.getLogger().log(Level.SEVERE, "Failed to access Core components for /" + label + " by " + player.getName(), e);
+            return true;
+        }
+
+        Selection selection = selectionManager.getActiveSelection(player);
+        if (selection == null) {
+            MessageUtil.sendMessage(player, "&cYou must make a complete selection first.");
+            return true;
+        }
+
+        CommandArgs commandArgs = new CommandArgs(args);
+        boolean copyAir = commandArgs.takeFlag("-a");
+        args = commandArgs.remaining();
+
+        String amountName = mode == Mode.STACK ? "count" : "distance";
+        if (args.length == 0 || args.length > 2) {
+            MessageUtil.sendMessage(player, "&cUsage: /" + label + " <" + amountName + "> [north|south|east|west|up|down|me] [-a]");
+            MessageUtil.sendMessage(player, "&cExample: /" + label + (mode == Mode.STACK ? " 5 up" : " 10 east"));
+            return true;
+        }
+
+        int maxAmount = mode == Mode.STACK
+                ? plugin.getConfig().getInt("core-settings.limits.stack-max-count", 64)
+                : plugin.getConfig().getInt("core-settings.limits.move-max-distance", 1024);
+        int amount;
+        try {
+            amount = Integer.parseInt(args[0]);
+        } catch (NumberFormatException e) {
+            MessageUtil.sendMessage(player, "&cInvalid " + amountName + ": &e" + args[0]);
+            return true;
+        }
+        if (amount < 1 || amount > maxAmount) {
+            MessageUtil.sendMessage(player, "&c" + (mode == Mode.STACK ? "Count" : "Distance") + " must be between 1 and " + maxAmount + ".");
+            return true;
+        }
+
+        BlockFace direction = args.length == 1 ? Directions.facingOf(player) : Directions.parse(player, args[1]);
+        if (direction == null) {
+            MessageUtil.sendMessage(player, "&cUnknown direction: " + args[1]);
+            return true;
+        }
+
+        taskEngine.submitOperation(new RegionCopyOperation(player, selection, mode, direction, amount, copyAir));
+
+        return true;
+    }
+}
\ No newline at end of file
@@ -4,9 +4,11 @@ import com.anynom39.anyares.AnyARES_Core;
 import com.anynom39.anyares.api.AnyAresAPI;
 import com.anynom39.anyares.manager.SelectionManager;
 import com.anynom39.anyares.manager.TaskEngine;
+import com.anynom39.anyares.operation.DryRunOperation;
 import com.anynom39.anyares.operation.ReplaceOperation;
 import com.anynom39.anyares.selection.Selection;
 import com.anynom39.anyares.util.BlockPatternParser;
+import com.anynom39.anyares.util.CommandArgs;
 import com.anynom39.anyares.util.BlockPatternParser.MaskEntry;
 import com.anynom39.anyares.util.BlockPatternParser.WeightedBlockData;
 import com.anynom39.anyares.util.MessageUtil;
@@ -62,8 +64,19 @@ public class ReplaceCommand implements CommandExecutor {
             return true;
         }
 
+        CommandArgs commandArgs = new CommandArgs(args);
+        boolean dryRun = commandArgs.takeFlag("-n");
+        Long seed;
+        try {
+            seed = commandArgs.takeSeed();
+        } catch (IllegalArgumentException e) {
+            MessageUtil.sendMessage(player, "&c" + e.getMessage());
+            return true;
+        }
+        args = commandArgs.remaining();
+
         if (args.length < 2) {
-            MessageUtil.sendMessage(player, "&cUsage: /" + label + " <from_pattern> <to_pattern>");
+            MessageUtil.sendMessage(player, "&cUsage: /" + label + " <from_pattern> <to_pattern> [-s <seed>] [-n]");
             MessageUtil.sendMessage(player, "&cExample: /" + label + " grass_block stone");
             MessageUtil.sendMessage(player, "&cExample: /" + label + " \"*,!water\" dirt");
             return true;
@@ -101,9 +114,10 @@ public class ReplaceCommand implements CommandExecutor {
                 fromMaskRules,
                 toPatternList,
                 fromPatternStr,
-                toPatternStr
+                toPatternStr,
+                seed
         );
-        taskEngine.submitOperation(replaceOp);
+        taskEngine.submitOperation(dryRun ? new DryRunOperation(replaceOp) : replaceOp);
 
         return true;
     }
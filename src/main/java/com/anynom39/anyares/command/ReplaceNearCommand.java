@@ -3,13 +3,14 @@ package com.anynom39.anyares.command;
 import com.anynom39.anyares.AnyARES_Core;
 import com.anynom39.anyares.api.AnyAresAPI;
 import com.anynom39.anyares.manager.TaskEngine;
+import com.anynom39.anyares.operation.DryRunOperation;
 import com.anynom39.anyares.operation.ReplaceOperation;
-import com.anynom39.anyares.selection.CuboidSelection;
+import com.anynom39.anyares.selection.SphereSelection;
 import com.anynom39.anyares.util.BlockPatternParser;
+import com.anynom39.anyares.util.CommandArgs;
 import com.anynom39.anyares.util.BlockPatternParser.MaskEntry;
 import com.anynom39.anyares.util.BlockPatternParser.WeightedBlockData;
 import com.anynom39.anyares.util.MessageUtil;
-import org.bukkit.Location;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -55,16 +56,28 @@ public class ReplaceNearCommand implements CommandExecutor {
         }
 
 
+        CommandArgs commandArgs = new CommandArgs(args);
+        boolean dryRun = commandArgs.takeFlag("-n");
+        Long seed;
+        try {
+            seed = commandArgs.takeSeed();
+        } catch (IllegalArgumentException e) {
+            MessageUtil.sendMessage(player, "&c" + e.getMessage());
+            return true;
+        }
+        args = commandArgs.remaining();
+
         if (args.length < 3) {
-            MessageUtil.sendMessage(player, "&cUsage: /" + label + " <radius> <from_pattern> <to_pattern>");
+            MessageUtil.sendMessage(player, "&cUsage: /" + label + " <radius> <from_pattern> <to_pattern> [-s <seed>] [-n]");
             return true;
         }
 
+        int maxRadius = plugin.getConfig().getInt("core-settings.limits.replacenear-max-radius", 256);
         double radius;
         try {
             radius = Double.parseDouble(args[0]);
-            if (radius <= 0 || radius > 64) {
-                MessageUtil.sendMessage(player, "&cRadius must be > 0 and <= 64.");
+            if (radius <= 0 || radius > maxRadius) {
+                MessageUtil.sendMessage(player, "&cRadius must be > 0 and <= " + maxRadius + ".");
                 return true;
             }
         } catch (NumberFormatException e) {
@@ -94,17 +107,14 @@ public class ReplaceNearCommand implements CommandExecutor {
             return true;
         }
 
-        Location sphereCenter = player.getLocation();
-        int intRadius = (int) Math.ceil(radius);
-        Location pos1 = sphereCenter.clone().subtract(intRadius, intRadius, intRadius);
-        Location pos2 = sphereCenter.clone().add(intRadius, intRadius, intRadius);
-        CuboidSelection sphereBoundingBox = new CuboidSelection(player.getWorld(), pos1, pos2);
+        // A true sphere: its rows are walked span by span, so no cell outside it is ever visited.
+        SphereSelection sphere = new SphereSelection(player.getWorld(), player.getLocation(), radius);
 
         ReplaceOperation replaceNearOp = new ReplaceOperation(
-                player, sphereBoundingBox, fromMaskRules, toPatternList,
-                fromPatternStr, toPatternStr, sphereCenter, radius
+                player, sphere, fromMaskRules, toPatternList,
+                fromPatternStr, toPatternStr, seed
         );
-        taskEngine.submitOperation(replaceNearOp);
+        taskEngine.submitOperation(dryRun ? new DryRunOperation(replaceNearOp) : replaceNearOp);
         return true;
     }
 }
\ No newline at end of file
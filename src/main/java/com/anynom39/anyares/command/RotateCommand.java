@@ -0,0 +1,82 @@
+package com.anynom39.anyares.command;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.api.AnyAresAPI;
+import com.anynom39.anyares.clipboard.ClipboardObject;
+import com.anynom39.anyares.manager.ClipboardManager;
+import com.anynom39.anyares.util.MessageUtil;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Level;
+
+/**
+ * Rotates the clipboard clockwise around the Y axis. Only the clipboard's view changes; the
+ * blocks are reoriented when they are pasted.
+ */
+public class RotateCommand implements CommandExecutor {
+
+    private final AnyARES_Core plugin;
+
+    public RotateCommand(AnyARES_Core plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!(sender instanceof Player player)) {
+            MessageUtil.sendMessage(sender, "&cThis command can only be used by players.");
+            return true;
+        }
+
+        if (!player.hasPermission("anyares.clipboard.rotate")) {
+            MessageUtil.sendMessage(player, "&cYou don't have permission to use this command.");
+            return true;
+        }
+
+        if (args.length != 1) {
+            MessageUtil.sendMessage(player, "&cUsage: //rotate <degrees>  &7(multiples of 90, around the Y axis)");
+            return true;
+        }
+
+        int degrees;
+        try {
+            degrees = Integer.parseInt(args[0]);
+        } catch (NumberFormatException e) {
+            MessageUtil.sendMessage(player, "&cInvalid angle: " + args[0]);
+            return true;
+        }
+        if (degrees % 90 != 0) {
+            MessageUtil.sendMessage(player, "&cThe angle must be a multiple of 90 degrees.");
+            return true;
+        }
+
+        if (!AnyAresAPI.isAvailable()) {
+            MessageUtil.sendMessage(player, "&cAnyARES-Core is not available.");
+            plugin.getLogger().warning("/rotate used by " + player.getName() + " but API is unavailable.");
+            return true;
+        }
+
+        ClipboardManager clipboardManager;
+        try {
+            clipboardManager = AnyAresAPI.getClipboardManager();
+        } catch (IllegalStateException e) {
+            MessageUtil.sendMessage(player, "&cError accessing AnyARES-Core components: " + e.getMessage());
+            plugin.getLogger().log(Level.SEVERE, "Failed to access Core components for /rotate by " + player.getName(), e);
+            return true;
+        }
+
+        ClipboardObject clipboard = clipboardManager.getPlayerClipboard(player);
+        if (clipboard == null) {
+            MessageUtil.sendMessage(player, "&cYour clipboard is empty. Use /copy or /cut first.");
+            return true;
+        }
+
+        clipboardManager.setPlayerClipboard(player, clipboard.withTransform(clipboard.getTransform().rotateY(degrees)));
+        MessageUtil.sendMessage(player, "&aClipboard rotated by &e" + degrees + "&a degrees.");
+        return true;
+    }
+}
\ No newline at end of file
@@ -4,9 +4,11 @@ import com.anynom39.anyares.AnyARES_Core;
 import com.anynom39.anyares.api.AnyAresAPI;
 import com.anynom39.anyares.manager.SelectionManager;
 import com.anynom39.anyares.manager.TaskEngine;
+import com.anynom39.anyares.operation.DryRunOperation;
 import com.anynom39.anyares.operation.SetOperation;
 import com.anynom39.anyares.selection.Selection;
 import com.anynom39.anyares.util.BlockPatternParser;
+import com.anynom39.anyares.util.CommandArgs;
 import com.anynom39.anyares.util.MessageUtil;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -60,8 +62,19 @@ public class SetCommand implements CommandExecutor {
             return true;
         }
 
+        CommandArgs commandArgs = new CommandArgs(args);
+        boolean dryRun = commandArgs.takeFlag("-n");
+        Long seed;
+        try {
+            seed = commandArgs.takeSeed();
+        } catch (IllegalArgumentException e) {
+            MessageUtil.sendMessage(player, "&c" + e.getMessage());
+            return true;
+        }
+        args = commandArgs.remaining();
+
         if (args.length == 0) {
-            MessageUtil.sendMessage(player, "&cUsage: /" + label + " <pattern>");
+            MessageUtil.sendMessage(player, "&cUsage: /" + label + " <pattern> [-s <seed>] [-n]");
             MessageUtil.sendMessage(player, "&cExample: /" + label + " oak_log[axis=y]");
             MessageUtil.sendMessage(player, "&cExample: /" + label + " 50%stone,50%dirt");
             return true;
@@ -82,8 +95,8 @@ public class SetCommand implements CommandExecutor {
             return true;
         }
 
-        SetOperation setOperation = new SetOperation(player, selection, patternList, patternString);
-        taskEngine.submitOperation(setOperation);
+        SetOperation setOperation = new SetOperation(player, selection, patternList, patternString, seed);
+        taskEngine.submitOperation(dryRun ? new DryRunOperation(setOperation) : setOperation);
 
         return true;
     }
@@ -0,0 +1,88 @@
+package com.anynom39.anyares.command;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.api.AnyAresAPI;
+import com.anynom39.anyares.manager.SelectionManager;
+import com.anynom39.anyares.manager.TaskEngine;
+import com.anynom39.anyares.operation.SmoothOperation;
+import com.anynom39.anyares.selection.Selection;
+import com.anynom39.anyares.util.MessageUtil;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Level;
+
+/**
+ * Handles //smooth, which blurs the selection's heightmap one or more times.
+ */
+public class SmoothCommand implements CommandExecutor {
+
+    private final AnyARES_Core plugin;
+
+    public SmoothCommand(AnyARES_Core plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!(sender instanceof Player player)) {
+            MessageUtil.sendMessage(sender, "&cThis command can only be used by players.");
+            return true;
+        }
+
+        if (!player.hasPermission("anyares.operation.smooth")) {
+            MessageUtil.sendMessage(player, "&cYou don't have permission to use this command.");
+            return true;
+        }
+
+        if (!AnyAresAPI.isAvailable()) {
+            MessageUtil.sendMessage(player, "&cAnyARES-Core is not available. Please contact an administrator.");
+            plugin.getLogger().warning("SmoothCommand used by " + player.getName() + " but AnyAresAPI is not available.");
+            return true;
+        }
+
+        SelectionManager selectionManager;
+        TaskEngine taskEngine;
+        try {
+            selectionManager = AnyAresAPI.getSelectionManager();
+            taskEngine = AnyAresAPI.getTaskEngine();
+        } catch (IllegalStateException e) {
+            MessageUtil.sendMessage(player, "&cError accessing AnyARES-Core components: " + e.getMessage());
+            plugin.getLogger().log(Level.SEVERE, "Failed to access Core components for /" + label + " by " + player.getName(), e);
+            return true;
+        }
+
+        Selection selection = selectionManager.getActiveSelection(player);
+        if (selection == null) {
+            MessageUtil.sendMessage(player, "&cYou must make a complete selection first.");
+            return true;
+        }
+
+        if (args.length > 1) {
+            MessageUtil.sendMessage(player, "&cUsage: /" + label + " [iterations]");
+            return true;
+        }
+
+        int iterations = 1;
+        if (args.length == 1) {
+            int maxIterations = plugin.getConfig().getInt("core-settings.limits.smooth-max-iterations", 20);
+            try {
+                iterations = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                MessageUtil.sendMessage(player, "&cInvalid number of iterations: &e" + args[0]);
+                return true;
+            }
+            if (iterations < 1 || iterations > maxIterations) {
+                MessageUtil.sendMessage(player, "&cIterations must be between 1 and " + maxIterations + ".");
+                return true;
+            }
+        }
+
+        taskEngine.submitOperation(new SmoothOperation(player, selection, iterations));
+
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.anynom39.anyares.command;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.api.AnyAresAPI;
+import com.anynom39.anyares.manager.SelectionManager;
+import com.anynom39.anyares.manager.TaskEngine;
+import com.anynom39.anyares.operation.DryRunOperation;
+import com.anynom39.anyares.operation.SurfaceOperation;
+import com.anynom39.anyares.operation.SurfaceOperation.Surface;
+import com.anynom39.anyares.selection.Selection;
+import com.anynom39.anyares.util.BlockPatternParser;
+import com.anynom39.anyares.util.CommandArgs;
+import com.anynom39.anyares.util.MessageUtil;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Handles //walls, //faces and //hollow, which differ only in the {@link Surface} they set.
+ */
+public class SurfaceCommand implements CommandExecutor {
+
+    private final AnyARES_Core plugin;
+    private final Surface surface;
+
+    public SurfaceCommand(AnyARES_Core plugin, Surface surface) {
+        this.plugin = plugin;
+        this.surface = surface;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!(sender instanceof Player player)) {
+            MessageUtil.sendMessage(sender, "&cThis command can only be used by players.");
+            return true;
+        }
+
+        String permission = "anyares.operation." + surface.name().toLowerCase();
+        if (!player.hasPermission(permission)) {
+            MessageUtil.sendMessage(player, "&cYou don't have permission to use this command.");
+            return true;
+        }
+
+        if (!AnyAresAPI.isAvailable()) {
+            MessageUtil.sendMessage(player, "&cAnyARES-Core is not available. Please contact an administrator.");
+            plugin.getLogger().warning("SurfaceCommand used by " + player.getName() + " but AnyAresAPI is not available.");
+            return true;
+        }
+
+        SelectionManager selectionManager;
+        TaskEngine taskEngine;
+        try {
+            selectionManager = AnyAresAPI.getSelectionManager();
+            taskEngine = AnyAresAPI.getTaskEngine();
+        } catch (IllegalStateException e) {
+            MessageUtil.sendMessage(player, "&cError accessing AnyARES-Core components: " + e.getMessage());
+            plugin.getLogger().log(Level.SEVERE, "Failed to access Core components for /" + label + " by " + player.getName(), e);
+            return true;
+        }
+
+        Selection selection = selectionManager.getActiveSelection(player);
+        if (selection == null) {
+            MessageUtil.sendMessage(player, "&cYou must make a complete selection first.");
+            return true;
+        }
+
+        CommandArgs commandArgs = new CommandArgs(args);
+        boolean dryRun = commandArgs.takeFlag("-n");
+        Long seed;
+        try {
+            seed = commandArgs.takeSeed();
+        } catch (IllegalArgumentException e) {
+            MessageUtil.sendMessage(player, "&c" + e.getMessage());
+            return true;
+        }
+        args = commandArgs.remaining();
+
+        boolean takesThickness = surface == Surface.HOLLOW;
+        if (args.length == 0 || args.length > (takesThickness ? 2 : 1)) {
+            MessageUtil.sendMessage(player, "&cUsage: /" + label + " <pattern>" + (takesThickness ? " [thickness]" : "") + " [-s <seed>] [-n]");
+            MessageUtil.sendMessage(player, "&cExample: /" + label + " stone_bricks" + (takesThickness ? " 2" : ""));
+            return true;
+        }
+
+        int thickness = 1;
+        if (args.length == 2) {
+            int maxThickness = plugin.getConfig().getInt("core-settings.limits.hollow-max-thickness", 16);
+            try {
+                thickness = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                MessageUtil.sendMessage(player, "&cInvalid thickness: &e" + args[1]);
+                return true;
+            }
+            if (thickness < 1 || thickness > maxThickness) {
+                MessageUtil.sendMessage(player, "&cThickness must be between 1 and " + maxThickness + ".");
+                return true;
+            }
+        }
+
+        String patternString = args[0];
+        List<BlockPatternParser.WeightedBlockData> patternList;
+        try {
+            patternList = BlockPatternParser.parseComplexPatternForReplacement(patternString);
+            if (patternList.isEmpty()) {
+                MessageUtil.sendMessage(player, "&cPattern resulted in no valid blocks: &e" + patternString);
+                return true;
+            }
+        } catch (IllegalArgumentException e) {
+            MessageUtil.sendMessage(player, "&cInvalid block pattern: &e" + patternString);
+            MessageUtil.sendMessage(player, "&cError: &7" + e.getMessage());
+            return true;
+        }
+
+        SurfaceOperation surfaceOperation = new SurfaceOperation(player, selection, surface, thickness, patternList, patternString, seed);
+        taskEngine.submitOperation(dryRun ? new DryRunOperation(surfaceOperation) : surfaceOperation);
+
+        return true;
+    }
+}
\ No newline at end of file
@@ -14,7 +14,7 @@ import java.util.stream.Collectors;
 
 public class PasteCommandTabCompleter implements TabCompleter {
 
-    private static final List<String> FLAGS = Arrays.asList("-a");
+    private static final List<String> FLAGS = Arrays.asList("-a", "-n");
 
     @Nullable
     @Override
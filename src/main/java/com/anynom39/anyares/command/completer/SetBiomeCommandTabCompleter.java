@@ -0,0 +1,40 @@
+package com.anynom39.anyares.command.completer;
+
+import org.bukkit.Registry;
+import org.bukkit.block.Biome;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.util.StringUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SetBiomeCommandTabCompleter implements TabCompleter {
+
+    private static List<String> BIOME_NAMES_CACHE = null;
+
+    private List<String> getBiomeNames() {
+        if (BIOME_NAMES_CACHE == null) {
+            BIOME_NAMES_CACHE = Registry.BIOME.stream()
+                    .filter(biome -> biome != Biome.CUSTOM)
+                    .map(biome -> biome.getKey().getKey())
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        return BIOME_NAMES_CACHE;
+    }
+
+    @Nullable
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1) {
+            StringUtil.copyPartialMatches(args[0].toLowerCase(), getBiomeNames(), completions);
+        }
+        return completions;
+    }
+}
\ No newline at end of file
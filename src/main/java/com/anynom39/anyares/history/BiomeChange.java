@@ -0,0 +1,17 @@
+package com.anynom39.anyares.history;
+
+import org.bukkit.block.Biome;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a change to one 4x4x4 biome cell, identified by its minimum corner block.
+ * This class is immutable.
+ */
+public record BiomeChange(
+        int x,
+        int y,
+        int z,
+        @NotNull Biome oldBiome,
+        @NotNull Biome newBiome
+) {
+}
\ No newline at end of file
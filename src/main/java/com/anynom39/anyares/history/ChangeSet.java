@@ -1,8 +1,14 @@
 package com.anynom39.anyares.history;
 
 import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.operation.ChunkDispatcher;
+import com.anynom39.anyares.operation.ChunkPos;
+import com.anynom39.anyares.operation.ExtentWriter;
+import com.anynom39.anyares.operation.WorkUnit;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.block.Biome;
 import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.jetbrains.annotations.NotNull;
@@ -10,18 +16,32 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 
 public class ChangeSet {
+    /**
+     * Rough heap cost of one recorded change: the {@link Change} record, its cloned Location
+     * (with Paper's weak world reference) and its two cloned BlockData wrappers, plus the list
+     * slot. Block states themselves are shared. Used to project history memory before an edit.
+     */
+    public static final long ESTIMATED_BYTES_PER_CHANGE = 160;
+
     private final List<Change> changes;
+    private final List<BiomeChange> biomeChanges;
     private final World world;
 
     public ChangeSet(@NotNull World world) {
         this.world = world;
         this.changes = new ArrayList<>();
+        this.biomeChanges = new ArrayList<>();
     }
 
     public synchronized void recordChange(@NotNull Block originalBlock, @NotNull BlockData newBlockData) {
@@ -32,6 +52,20 @@ public class ChangeSet {
         changes.add(new Change(originalBlock.getLocation(), originalBlock.getBlockData(), newBlockData));
     }
 
+    /**
+     * Records a change whose old state the caller already read, e.g. while flushing a section.
+     */
+    public synchronized void recordChange(int x, int y, int z, @NotNull BlockData oldBlockData, @NotNull BlockData newBlockData) {
+        changes.add(new Change(new Location(world, x, y, z), oldBlockData, newBlockData));
+    }
+
+    /**
+     * Records a change to the biome cell whose minimum corner is {@code (x, y, z)}.
+     */
+    public synchronized void recordBiomeChange(int x, int y, int z, @NotNull Biome oldBiome, @NotNull Biome newBiome) {
+        biomeChanges.add(new BiomeChange(x, y, z, oldBiome, newBiome));
+    }
+
     public synchronized void addConstructedChange(@NotNull Change change) {
         if (!change.location().getWorld().equals(this.world)) {
             throw new IllegalArgumentException("Change being added is in world '" + change.location().getWorld().getName() +
@@ -40,17 +74,41 @@ public class ChangeSet {
         changes.add(change);
     }
 
+    /**
+     * Appends all changes of another ChangeSet for the same world, keeping their order.
+     */
+    public synchronized void addAll(@NotNull ChangeSet other) {
+        if (!other.world.equals(this.world)) {
+            throw new IllegalArgumentException("ChangeSet being merged is for world '" + other.world.getName() +
+                    "' but ChangeSet is for world '" + this.world.getName() + "'.");
+        }
+        synchronized (other) {
+            changes.addAll(other.changes);
+            biomeChanges.addAll(other.biomeChanges);
+        }
+    }
 
     public List<Change> getChanges() {
         return Collections.unmodifiableList(changes);
     }
 
+    public List<BiomeChange> getBiomeChanges() {
+        return Collections.unmodifiableList(biomeChanges);
+    }
+
+    /**
+     * @return The number of block changes; biome cells are counted by {@link #getBiomeChangeCount()}.
+     */
     public int getSize() {
         return changes.size();
     }
 
+    public int getBiomeChangeCount() {
+        return biomeChanges.size();
+    }
+
     public boolean isEmpty() {
-        return changes.isEmpty();
+        return changes.isEmpty() && biomeChanges.isEmpty();
     }
 
     @NotNull
@@ -68,39 +126,88 @@ public class ChangeSet {
 
     private CompletableFuture<Void> applyState(@NotNull AnyARES_Core core, boolean isUndo,
                                                @Nullable Consumer<Integer> onComplete, @Nullable Consumer<Throwable> onFailure) {
-        if (changes.isEmpty()) {
+        if (isEmpty()) {
             if (onComplete != null) Bukkit.getScheduler().runTask(core, () -> onComplete.accept(0));
             return CompletableFuture.completedFuture(null);
         }
 
         CompletableFuture<Void> overallFuture = new CompletableFuture<>();
         List<Change> effectiveChanges = new ArrayList<>(changes);
+        List<BiomeChange> effectiveBiomeChanges = new ArrayList<>(biomeChanges);
         if (isUndo) {
             Collections.reverse(effectiveChanges);
+            Collections.reverse(effectiveBiomeChanges);
         }
 
-        Bukkit.getGlobalRegionScheduler().execute(core, () -> {
-            try {
-                int blocksChangedCount = 0;
-                for (Change change : effectiveChanges) {
-                    Block block = change.location().getBlock();
-                    BlockData targetData = isUndo ? change.oldBlockData() : change.newBlockData();
+        // Group by chunk so every group can be applied by the region thread owning it.
+        Map<ChunkPos, List<Change>> changesByChunk = new LinkedHashMap<>();
+        for (Change change : effectiveChanges) {
+            Location location = change.location();
+            changesByChunk.computeIfAbsent(ChunkPos.ofBlock(location.getBlockX(), location.getBlockZ()), k -> new ArrayList<>()).add(change);
+        }
+        Map<ChunkPos, List<BiomeChange>> biomeChangesByChunk = new LinkedHashMap<>();
+        for (BiomeChange change : effectiveBiomeChanges) {
+            biomeChangesByChunk.computeIfAbsent(ChunkPos.ofBlock(change.x(), change.z()), k -> new ArrayList<>()).add(change);
+        }
 
-                    block.setBlockData(targetData, false);
-                    blocksChangedCount++;
+        Set<ChunkPos> chunkSet = new LinkedHashSet<>(changesByChunk.keySet());
+        chunkSet.addAll(biomeChangesByChunk.keySet());
+        List<ChunkPos> chunks = new ArrayList<>(chunkSet);
+        boolean deferUpdates = core.getTaskEngine().shouldDeferUpdates(effectiveChanges.size());
+        // Takes a write claim on the chunks first, so the writes never interleave with an operation editing them.
+        core.getTaskEngine().runLocked(world, chunks, () -> ChunkDispatcher.dispatch(core, world, chunks, deferUpdates, (chunkX, chunkZ, unusedChunkChanges) -> {
+            List<Change> chunkChanges = changesByChunk.getOrDefault(new ChunkPos(chunkX, chunkZ), new ArrayList<>());
+            List<BiomeChange> chunkBiomeChanges = biomeChangesByChunk.getOrDefault(new ChunkPos(chunkX, chunkZ), List.of());
+            // Section by section so the writer flushes each section once. The sort is stable,
+            // so repeated changes to one block keep their order and the right state wins.
+            chunkChanges.sort(Comparator.comparingInt(change -> change.location().getBlockY() >> 4));
+            ExtentWriter writer = new ExtentWriter(world, chunkX, chunkZ, null).withDeferredUpdates(deferUpdates);
+            return new WorkUnit() {
+                private int index = 0;
+
+                @Override
+                public boolean process(long deadlineNanos) {
+                    int sinceCheck = 0;
+                    while (index < chunkChanges.size()) {
+                        if (++sinceCheck >= DEADLINE_CHECK_INTERVAL) {
+                            sinceCheck = 0;
+                            if (System.nanoTime() >= deadlineNanos) {
+                                return false;
+                            }
+                        }
+                        Change change = chunkChanges.get(index++);
+                        Location location = change.location();
+                        BlockData targetData = isUndo ? change.oldBlockData() : change.newBlockData();
+
+                        writer.setBlock(location.getBlockX(), location.getBlockY(), location.getBlockZ(), targetData);
+                    }
+                    writer.flush();
+                    if (!chunkBiomeChanges.isEmpty()) {
+                        // A chunk holds few biome cells (1,536 in a 384-block world), so they are written in one go.
+                        for (BiomeChange change : chunkBiomeChanges) {
+                            world.setBiome(change.x(), change.y(), change.z(), isUndo ? change.oldBiome() : change.newBiome());
+                        }
+                        if (!deferUpdates) {
+                            world.refreshChunk(chunkX, chunkZ); // Clients only learn of biomes with the chunk; deferred dispatches resend it anyway.
+                        }
+                    }
+                    return true;
                 }
-                final int finalBlocksChangedCount = blocksChangedCount;
-                if (onComplete != null) {
-                    Bukkit.getScheduler().runTask(core, () -> onComplete.accept(finalBlocksChangedCount));
-                }
-                overallFuture.complete(null);
-            } catch (Exception e) {
-                core.getLogger().log(Level.SEVERE, "Error during ChangeSet " + (isUndo ? "undo" : "redo") + ": ", e);
+            };
+        })).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                core.getLogger().log(Level.SEVERE, "Error during ChangeSet " + (isUndo ? "undo" : "redo") + ": ", throwable);
                 if (onFailure != null) {
-                    Bukkit.getScheduler().runTask(core, () -> onFailure.accept(e));
+                    Bukkit.getScheduler().runTask(core, () -> onFailure.accept(throwable));
                 }
-                overallFuture.completeExceptionally(e);
+                overallFuture.completeExceptionally(throwable);
+                return;
+            }
+            final int finalBlocksChangedCount = effectiveChanges.size() + effectiveBiomeChanges.size();
+            if (onComplete != null) {
+                Bukkit.getScheduler().runTask(core, () -> onComplete.accept(finalBlocksChangedCount));
             }
+            overallFuture.complete(null);
         });
         return overallFuture;
     }
@@ -0,0 +1,158 @@
+package com.anynom39.anyares.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Weighted fair queue used by the {@link TaskEngine} to pick the next operation to start.
+ * <p>
+ * Every owner (a player, or the console) has its own FIFO queue, so one owner's commands
+ * always run in the order they were issued. Across owners, each queued item gets a virtual
+ * finish tag of {@code start + cost / weight}, where the cost is the operation's estimated
+ * block count and the weight comes from its {@link OperationPriority}. The head with the
+ * smallest finish tag runs next. Small jobs therefore overtake other owners' large jobs,
+ * while an owner with a long backlog only competes with the tag of its oldest item.
+ * <p>
+ * Owners that already run {@code maxRunningPerOwner} operations are skipped until one of
+ * their operations is {@link #release(Object) released}. Owners whose head item is not
+ * eligible (a paused operation) are skipped as well; items behind it keep waiting so the
+ * owner's order is preserved.
+ */
+class FairShareQueue<T> {
+
+    private static final long MIN_COST = 1_000L; // Keeps tiny jobs from all looking free.
+
+    private final Map<Object, OwnerState<T>> owners = new HashMap<>();
+    private double virtualTime = 0;
+    private long sequence = 0;
+    private int size = 0;
+    private int maxRunningPerOwner;
+
+    private static final class OwnerState<T> {
+        final Deque<Entry<T>> queued = new ArrayDeque<>();
+        double lastFinishTag = 0;
+        int running = 0;
+    }
+
+    private record Entry<T>(T item, double startTag, double finishTag, long sequence) {
+    }
+
+    FairShareQueue(int maxRunningPerOwner) {
+        this.maxRunningPerOwner = Math.max(1, maxRunningPerOwner);
+    }
+
+    synchronized void setMaxRunningPerOwner(int maxRunningPerOwner) {
+        this.maxRunningPerOwner = Math.max(1, maxRunningPerOwner);
+    }
+
+    synchronized void add(@NotNull Object owner, @NotNull T item, long estimatedCost, double weight) {
+        OwnerState<T> state = owners.computeIfAbsent(owner, k -> new OwnerState<>());
+        double startTag = Math.max(virtualTime, state.lastFinishTag);
+        double finishTag = startTag + Math.max(MIN_COST, estimatedCost) / Math.max(0.01, weight);
+        state.lastFinishTag = finishTag;
+        state.queued.addLast(new Entry<>(item, startTag, finishTag, sequence++));
+        size++;
+    }
+
+    /**
+     * Removes the next item to run and counts it as running for its owner.
+     *
+     * @param eligible Whether a queue head may start now.
+     * @return The item, or null if nothing is queued or every owner with queued work is at its cap or blocked.
+     */
+    @Nullable
+    synchronized T poll(@NotNull Predicate<T> eligible) {
+        OwnerState<T> bestOwner = null;
+        Entry<T> best = null;
+        for (OwnerState<T> state : owners.values()) {
+            Entry<T> head = state.queued.peekFirst();
+            if (head == null || state.running >= maxRunningPerOwner || !eligible.test(head.item())) {
+                continue;
+            }
+            if (best == null || head.finishTag() < best.finishTag()
+                    || (head.finishTag() == best.finishTag() && head.sequence() < best.sequence())) {
+                best = head;
+                bestOwner = state;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        bestOwner.queued.pollFirst();
+        bestOwner.running++;
+        size--;
+        virtualTime = Math.max(virtualTime, best.startTag());
+        return best.item();
+    }
+
+    /**
+     * Removes a queued item before it started.
+     *
+     * @return true if the item was still queued.
+     */
+    synchronized boolean remove(@NotNull Object owner, @NotNull T item) {
+        OwnerState<T> state = owners.get(owner);
+        if (state == null) return false;
+        for (Iterator<Entry<T>> it = state.queued.iterator(); it.hasNext(); ) {
+            if (it.next().item() == item) {
+                it.remove();
+                size--;
+                if (state.running == 0 && state.queued.isEmpty()) {
+                    owners.remove(owner);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks one running operation of the owner as finished.
+     */
+    synchronized void release(@NotNull Object owner) {
+        OwnerState<T> state = owners.get(owner);
+        if (state == null) return;
+        if (state.running > 0) state.running--;
+        if (state.running == 0 && state.queued.isEmpty()) {
+            owners.remove(owner);
+        }
+    }
+
+    synchronized int getRunningCount(@NotNull Object owner) {
+        OwnerState<T> state = owners.get(owner);
+        return state != null ? state.running : 0;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes and returns every queued item. Running counts are kept.
+     */
+    @NotNull
+    synchronized List<T> drain() {
+        List<T> drained = new ArrayList<>(size);
+        for (OwnerState<T> state : owners.values()) {
+            for (Entry<T> entry : state.queued) {
+                drained.add(entry.item());
+            }
+            state.queued.clear();
+        }
+        size = 0;
+        return drained;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.anynom39.anyares.manager;
+
+import com.anynom39.anyares.history.ChangeSet;
+import com.anynom39.anyares.operation.BlockOperation;
+import com.anynom39.anyares.operation.OperationProgress;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Control handle for an operation submitted to the {@link TaskEngine}.
+ * <p>
+ * A queued operation that is cancelled never starts. A running operation stops at its next
+ * checkpoint (the start of its next tick slice); the blocks it already changed are recorded
+ * in the owner's history, and the future completes with an
+ * {@link com.anynom39.anyares.operation.OperationCancelledException}.
+ * Pausing keeps a queued operation from starting and freezes a running one until resumed.
+ */
+public class OperationHandle {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    private final TaskEngine engine;
+    private final BlockOperation operation;
+    private final Object owner;
+    private final CompletableFuture<ChangeSet> future = new CompletableFuture<>();
+    private final OperationProgress progress;
+    private final RegionLockTable.Claim lockClaim;
+    private final List<Runnable> controlListeners = new CopyOnWriteArrayList<>();
+
+    private volatile State state = State.QUEUED;
+    private volatile boolean paused = false;
+    private volatile boolean cancelRequested = false;
+
+    OperationHandle(@NotNull TaskEngine engine, @NotNull BlockOperation operation, @NotNull Object owner) {
+        this.engine = engine;
+        this.operation = operation;
+        this.owner = owner;
+        this.progress = new OperationProgress(operation.getEstimatedBlocks());
+        this.lockClaim = RegionLockTable.Claim.of(operation);
+    }
+
+    @NotNull
+    public BlockOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return Completed with the operation's changes, or exceptionally if it failed or was cancelled.
+     */
+    @NotNull
+    public CompletableFuture<ChangeSet> getFuture() {
+        return future;
+    }
+
+    @NotNull
+    public OperationProgress getProgress() {
+        return progress;
+    }
+
+    @NotNull
+    public State getState() {
+        return state;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * Requests cancellation.
+     *
+     * @return false if the operation had already finished.
+     */
+    public boolean cancel() {
+        if (isDone()) {
+            return false;
+        }
+        cancelRequested = true;
+        engine.onCancelRequested(this);
+        return true;
+    }
+
+    /**
+     * @return false if the operation had already finished or was already paused.
+     */
+    public boolean pause() {
+        if (isDone() || paused) {
+            return false;
+        }
+        paused = true;
+        return true;
+    }
+
+    /**
+     * @return false if the operation was not paused.
+     */
+    public boolean resume() {
+        if (!paused) {
+            return false;
+        }
+        paused = false;
+        engine.onResumed(this);
+        return true;
+    }
+
+    /**
+     * Registers a callback run after the operation is resumed or cancellation is requested, so
+     * work that stopped at a checkpoint (such as a chunk pipeline waiting out a pause) can continue.
+     * Runs on the thread that called {@link #resume()} or {@link #cancel()}.
+     */
+    public void addControlListener(@NotNull Runnable listener) {
+        controlListeners.add(listener);
+    }
+
+    public void removeControlListener(@NotNull Runnable listener) {
+        controlListeners.remove(listener);
+    }
+
+    void notifyControlListeners() {
+        for (Runnable listener : controlListeners) {
+            listener.run();
+        }
+    }
+
+    Object getOwner() {
+        return owner;
+    }
+
+    RegionLockTable.Claim getLockClaim() {
+        return lockClaim;
+    }
+
+    void setState(@NotNull State state) {
+        this.state = state;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.anynom39.anyares.manager;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Priority classes used by the {@link TaskEngine}'s fair-share queue. A class's weight
+ * (configured under {@code core-settings.task-engine.priority-weights}) sets how large a
+ * share of engine time its operations get while other classes are waiting.
+ */
+public enum OperationPriority {
+    CONSOLE("console", 4.0),
+    ADMIN("admin", 2.0),
+    DEFAULT("default", 1.0);
+
+    public static final String ADMIN_PERMISSION = "anyares.queue.priority";
+
+    private final String configKey;
+    private final double defaultWeight;
+
+    OperationPriority(String configKey, double defaultWeight) {
+        this.configKey = configKey;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    public double getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    @NotNull
+    public static OperationPriority of(@Nullable Player player) {
+        if (player == null) return CONSOLE;
+        return player.hasPermission(ADMIN_PERMISSION) ? ADMIN : DEFAULT;
+    }
+}
\ No newline at end of file
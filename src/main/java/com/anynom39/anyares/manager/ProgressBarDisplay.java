@@ -0,0 +1,151 @@
+package com.anynom39.anyares.manager;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.operation.OperationProgress;
+import com.anynom39.anyares.util.MessageUtil;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shows each player a boss bar with the progress of their running operation.
+ * <p>
+ * One task on the global region thread refreshes all bars, at most once per
+ * {@code progress-bar.update-interval-ticks}. It only runs while some player has an
+ * operation running and stops itself afterwards.
+ */
+class ProgressBarDisplay {
+
+    private final AnyARES_Core plugin;
+    private final TaskEngine taskEngine;
+    private final Map<UUID, BossBar> bars = new HashMap<>(); // Only touched by the update task.
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private ScheduledTask updateTask;
+
+    private volatile boolean enabled;
+    private int updateIntervalTicks;
+
+    ProgressBarDisplay(AnyARES_Core plugin, TaskEngine taskEngine) {
+        this.plugin = plugin;
+        this.taskEngine = taskEngine;
+    }
+
+    void loadConfig() {
+        this.enabled = plugin.getConfig().getBoolean("core-settings.task-engine.progress-bar.enabled", true);
+        this.updateIntervalTicks = plugin.getConfig().getInt("core-settings.task-engine.progress-bar.update-interval-ticks", 1);
+        if (this.updateIntervalTicks <= 0) this.updateIntervalTicks = 1;
+    }
+
+    /**
+     * Starts the update task if it is not running. Called whenever an operation starts.
+     */
+    void ensureRunning() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        updateTask = Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, this::update, 1L, updateIntervalTicks);
+    }
+
+    /**
+     * Stops updates and removes all bars. Only called on shutdown, after which no task touches the bars.
+     */
+    void stop() {
+        if (updateTask != null) {
+            updateTask.cancel();
+            updateTask = null;
+        }
+        removeAllBars();
+    }
+
+    private void update(ScheduledTask task) {
+        Map<UUID, OperationHandle> shown = new HashMap<>();
+        Map<UUID, Integer> waiting = new HashMap<>();
+        for (OperationHandle handle : taskEngine.getHandles()) {
+            Player player = handle.getOperation().getPlayer();
+            if (player == null || !player.isOnline()) continue;
+            if (handle.getState() == OperationHandle.State.RUNNING && !shown.containsKey(player.getUniqueId())) {
+                shown.put(player.getUniqueId(), handle);
+            } else {
+                waiting.merge(player.getUniqueId(), 1, Integer::sum);
+            }
+        }
+
+        bars.entrySet().removeIf(entry -> {
+            if (shown.containsKey(entry.getKey())) return false;
+            entry.getValue().removeAll();
+            return true;
+        });
+
+        for (Map.Entry<UUID, OperationHandle> entry : shown.entrySet()) {
+            OperationHandle handle = entry.getValue();
+            BossBar bar = bars.computeIfAbsent(entry.getKey(), id -> {
+                BossBar created = Bukkit.createBossBar("", BarColor.BLUE, BarStyle.SEGMENTED_10);
+                created.addPlayer(handle.getOperation().getPlayer());
+                return created;
+            });
+            render(bar, handle, waiting.getOrDefault(entry.getKey(), 0));
+        }
+
+        if (shown.isEmpty()) {
+            task.cancel();
+            running.set(false);
+            // An operation may have started between collecting the handles and clearing the flag.
+            for (OperationHandle handle : taskEngine.getHandles()) {
+                if (handle.getState() == OperationHandle.State.RUNNING) {
+                    ensureRunning();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void render(BossBar bar, OperationHandle handle, int waiting) {
+        OperationProgress progress = handle.getProgress();
+        StringBuilder title = new StringBuilder("&b").append(handle.getOperation().getOperationName()).append("&7: &f");
+        title.append(String.format("%,d", progress.getBlocksProcessed()));
+        if (progress.getEstimatedBlocks() > 0) {
+            title.append("&7/&f").append(String.format("%,d", progress.getEstimatedBlocks()));
+        }
+        title.append(" &7blocks (&f").append(String.format("%,d", progress.getBlocksChanged())).append("&7 changed), &f")
+                .append(progress.getChunksDone()).append("&7/&f").append(progress.getTotalChunks()).append(" &7chunks, &f")
+                .append(String.format("%,.0f", progress.getBlocksPerSecond())).append("&7/s");
+
+        if (handle.isCancelRequested()) {
+            bar.setColor(BarColor.RED);
+            title.append(" &c(cancelling)");
+        } else if (handle.isPaused()) {
+            bar.setColor(BarColor.YELLOW);
+            title.append(" &e(paused)");
+        } else {
+            bar.setColor(BarColor.BLUE);
+            title.append(", ETA &f").append(formatDuration(progress.getEtaMillis()));
+        }
+        if (waiting > 0) {
+            title.append(" &7(+").append(waiting).append(" queued)");
+        }
+
+        bar.setTitle(MessageUtil.color(title.toString()));
+        bar.setProgress(progress.getFraction());
+    }
+
+    private void removeAllBars() {
+        bars.values().forEach(BossBar::removeAll);
+        bars.clear();
+    }
+
+    private static String formatDuration(long millis) {
+        if (millis < 0) return "--";
+        long seconds = millis / 1000;
+        if (seconds >= 3600) return String.format("%dh %02dm", seconds / 3600, (seconds % 3600) / 60);
+        if (seconds >= 60) return String.format("%dm %02ds", seconds / 60, seconds % 60);
+        return seconds + "s";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.anynom39.anyares.manager;
+
+import com.anynom39.anyares.operation.BlockOperation;
+import com.anynom39.anyares.operation.ChunkPos;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Chunk-keyed lock table that lets the {@link TaskEngine} run operations in parallel only
+ * when they cannot see each other's edits.
+ * <p>
+ * An operation claims every chunk column its selection's bounding box touches; engine-internal
+ * writes such as undo claim the chunks they change. Writers hold
+ * their chunks exclusively; read-only operations (such as copy) may share chunks with each
+ * other but not with a writer. Claims are all-or-nothing, so two operations can never each
+ * hold half of what the other needs.
+ */
+class RegionLockTable {
+
+    /**
+     * The chunks an operation needs, computed once when it is submitted.
+     */
+    record Claim(UUID worldId, long[] chunkKeys, boolean shared) {
+
+        @NotNull
+        static Claim of(@NotNull BlockOperation operation) {
+            return of(operation.getSelection().getWorld(), operation.getAffectedChunks(), operation.isReadOnly());
+        }
+
+        @NotNull
+        static Claim of(@NotNull World world, @NotNull List<ChunkPos> chunks, boolean shared) {
+            long[] keys = new long[chunks.size()];
+            for (int i = 0; i < keys.length; i++) {
+                ChunkPos chunk = chunks.get(i);
+                keys[i] = ((long) chunk.x() << 32) | (chunk.z() & 0xFFFFFFFFL);
+            }
+            return new Claim(world.getUID(), keys, shared);
+        }
+
+        /**
+         * @return Whether the two claims could not be held at the same time.
+         */
+        boolean conflictsWith(@NotNull Claim other) {
+            if (!worldId.equals(other.worldId) || (shared && other.shared)) {
+                return false;
+            }
+            Set<Long> keys = new HashSet<>();
+            for (long chunkKey : chunkKeys) {
+                keys.add(chunkKey);
+            }
+            for (long chunkKey : other.chunkKeys) {
+                if (keys.contains(chunkKey)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Key(UUID worldId, long chunkKey) {
+    }
+
+    private static final class LockState {
+        int readers = 0;
+        boolean writer = false;
+    }
+
+    private final Map<Key, LockState> locks = new HashMap<>();
+
+    synchronized boolean canAcquire(@NotNull Claim claim) {
+        for (long chunkKey : claim.chunkKeys()) {
+            LockState state = locks.get(new Key(claim.worldId(), chunkKey));
+            if (state == null) continue;
+            if (state.writer || (!claim.shared() && state.readers > 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes every chunk of the claim, or none of them.
+     *
+     * @return false if a conflicting claim holds one of the chunks.
+     */
+    synchronized boolean tryAcquire(@NotNull Claim claim) {
+        if (!canAcquire(claim)) {
+            return false;
+        }
+        for (long chunkKey : claim.chunkKeys()) {
+            LockState state = locks.computeIfAbsent(new Key(claim.worldId(), chunkKey), k -> new LockState());
+            if (claim.shared()) {
+                state.readers++;
+            } else {
+                state.writer = true;
+            }
+        }
+        return true;
+    }
+
+    synchronized void release(@NotNull Claim claim) {
+        for (long chunkKey : claim.chunkKeys()) {
+            Key key = new Key(claim.worldId(), chunkKey);
+            LockState state = locks.get(key);
+            if (state == null) continue;
+            if (claim.shared()) {
+                state.readers = Math.max(0, state.readers - 1);
+            } else {
+                state.writer = false;
+            }
+            if (state.readers == 0 && !state.writer) {
+                locks.remove(key);
+            }
+        }
+    }
+
+    /**
+     * @return How many chunks are currently locked.
+     */
+    synchronized int size() {
+        return locks.size();
+    }
+}
\ No newline at end of file
@@ -3,67 +3,136 @@ package com.anynom39.anyares.manager;
 import com.anynom39.anyares.AnyARES_Core;
 import com.anynom39.anyares.history.ChangeSet;
 import com.anynom39.anyares.operation.BlockOperation;
+import com.anynom39.anyares.operation.ChunkPos;
+import com.anynom39.anyares.operation.ExtentWriter;
+import com.anynom39.anyares.operation.OperationCancelledException;
+import com.anynom39.anyares.operation.OperationProgress;
+import com.anynom39.anyares.operation.SectionFlusher;
+import com.anynom39.anyares.operation.WorkUnit;
 import com.anynom39.anyares.util.MessageUtil;
 import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import org.bukkit.Bukkit;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 public class TaskEngine {
     private final AnyARES_Core plugin;
     private final HistoryManager historyManager;
 
-    private final Queue<QueuedOperation> operationQueue;
-    private final ConcurrentHashMap<Object, Object> playerOperationCount;
+    private static final Object CONSOLE_OWNER = "CONSOLE";
 
-    private ScheduledTask processingTask;
+    private final FairShareQueue<OperationHandle> operationQueue;
+    private final List<OperationHandle> activeHandles = new CopyOnWriteArrayList<>(); // Queued and running, in submission order.
+    private final RegionLockTable regionLocks = new RegionLockTable();
+    private final List<LockedWork> pendingLockedWork = new ArrayList<>(); // Guarded by this, in submission order.
+    private final Map<OperationPriority, Double> priorityWeights = new EnumMap<>(OperationPriority.class);
+    private int maxOperationsPerPlayer;
+
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean(false);
+    private volatile boolean shuttingDown = false;
     private final Semaphore concurrencySemaphore;
     private int maxConcurrentOperations;
 
-    private record QueuedOperation(BlockOperation operation, CompletableFuture<ChangeSet> future) {
-    }
+    private final TickBudgetController tickBudget;
+    private final ProgressBarDisplay progressDisplay;
+    private final ExecutorService workerPool; // Snapshot reads and other work that never touches the world.
+    private volatile int chunkPrefetchDepth;
+    private volatile boolean deferredUpdatesEnabled;
+    private volatile long deferredUpdatesMinBlocks;
+    private volatile double recentBlocksPerSecond = -1; // Smoothed over finished edits; -1 until the first one.
+    // Per scheduler thread: {tick the budget was opened in, deadline for that tick}.
+    // On Paper every region task runs on the main thread; on Folia each region thread gets its own budget.
+    private final ThreadLocal<long[]> tickBudgetWindow = ThreadLocal.withInitial(() -> new long[]{-1L, 0L});
 
     public TaskEngine(AnyARES_Core plugin) {
         this.plugin = plugin;
         this.historyManager = plugin.getHistoryManager();
-        this.operationQueue = new ConcurrentLinkedQueue<>();
-        this.playerOperationCount = new ConcurrentHashMap<>();
-
+        this.tickBudget = new TickBudgetController(plugin);
+        this.progressDisplay = new ProgressBarDisplay(plugin, this);
         loadConfig();
+        this.operationQueue = new FairShareQueue<>(maxOperationsPerPlayer);
         this.concurrencySemaphore = new Semaphore(maxConcurrentOperations, true);
+        this.workerPool = createWorkerPool();
+
+        tickBudget.start();
 
-        plugin.getLogger().info("TaskEngine initialized. Max concurrent operations: " + maxConcurrentOperations);
-        startProcessingLoop();
+        plugin.getLogger().info("TaskEngine initialized. Max concurrent operations: " + maxConcurrentOperations
+                + ", tick budget: " + describeTickBudget());
+    }
+
+    private ExecutorService createWorkerPool() {
+        int threads = plugin.getConfig().getInt("core-settings.task-engine.worker-threads", 0);
+        if (threads <= 0) {
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "AnyARES-Worker-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     private void loadConfig() {
-        this.maxConcurrentOperations = plugin.getConfig().getInt("core-settings.task-engine.max-concurrent-operations", 1);
+        this.maxConcurrentOperations = plugin.getConfig().getInt("core-settings.task-engine.max-concurrent-operations", 4);
         if (this.maxConcurrentOperations <= 0) this.maxConcurrentOperations = 1;
+
+        this.maxOperationsPerPlayer = plugin.getConfig().getInt("core-settings.task-engine.max-operations-per-player", 1);
+        if (this.maxOperationsPerPlayer <= 0) this.maxOperationsPerPlayer = 1;
+        for (OperationPriority priority : OperationPriority.values()) {
+            double weight = plugin.getConfig().getDouble("core-settings.task-engine.priority-weights." + priority.getConfigKey(), priority.getDefaultWeight());
+            priorityWeights.put(priority, weight > 0 ? weight : priority.getDefaultWeight());
+        }
+
+        tickBudget.loadConfig();
+        progressDisplay.loadConfig();
+
+        this.chunkPrefetchDepth = plugin.getConfig().getInt("core-settings.task-engine.chunk-prefetch-depth", 4);
+        if (this.chunkPrefetchDepth < 0) this.chunkPrefetchDepth = 0;
+
+        this.deferredUpdatesEnabled = plugin.getConfig().getBoolean("core-settings.task-engine.deferred-updates.enabled", true);
+        this.deferredUpdatesMinBlocks = Math.max(0L, plugin.getConfig().getLong("core-settings.task-engine.deferred-updates.min-blocks", 50000L));
     }
 
     public void reloadConfigValues() {
         plugin.reloadConfig();
         loadConfig();
-
-        if (this.processingTask != null) {
-            this.processingTask.cancel();
-            this.processingTask = null;
-        }
+        this.operationQueue.setMaxRunningPerOwner(maxOperationsPerPlayer);
+        tickBudget.start();
 
         this.concurrencySemaphore.drainPermits();
         this.concurrencySemaphore.release(maxConcurrentOperations);
-        startProcessingLoop();
-        plugin.getLogger().info("TaskEngine config reloaded. Max concurrent operations: " + maxConcurrentOperations);
+        wakeDispatcher();
+        plugin.getLogger().info("TaskEngine config reloaded. Max concurrent operations: " + maxConcurrentOperations
+                + ", tick budget: " + describeTickBudget());
     }
 
-    public CompletableFuture<ChangeSet> submitOperation(@NotNull BlockOperation operation) {
+    /**
+     * Queues an operation.
+     *
+     * @return A handle to follow, cancel, pause or resume the operation.
+     */
+    @NotNull
+    public OperationHandle submitOperation(@NotNull BlockOperation operation) {
         Player player = operation.getPlayer();
-        CompletableFuture<ChangeSet> future = new CompletableFuture<>();
-        operationQueue.add(new QueuedOperation(operation, future));
+        Object owner = player != null ? player.getUniqueId() : CONSOLE_OWNER;
+        OperationHandle handle = new OperationHandle(this, operation, owner);
+        OperationPriority priority = OperationPriority.of(player);
+        activeHandles.add(handle);
+        operationQueue.add(owner, handle, operation.getEstimatedBlocks(), priorityWeights.get(priority));
 
         String estimatedBlocksMsg = operation.getEstimatedBlocks() > 0 ? "&7(&f" + operation.getEstimatedBlocks() + " blocks&7)" : "";
         if (player != null) {
@@ -71,88 +140,454 @@ public class TaskEngine {
         } else {
             plugin.getLogger().info("Queueing console operation: " + operation.getOperationName() + " " + estimatedBlocksMsg);
         }
-        return future;
+        wakeDispatcher();
+        return handle;
     }
 
-    private void startProcessingLoop() {
-        if (processingTask != null) {
-            processingTask.cancel();
-            processingTask = null;
-        }
-
-        processingTask = Bukkit.getAsyncScheduler().runAtFixedRate(plugin, (task) -> {
+    /**
+     * Engine-internal work waiting for its chunks, see {@link #runLocked}.
+     */
+    private record LockedWork(RegionLockTable.Claim claim, Runnable start) {
+    }
 
-            if (operationQueue.isEmpty() || !concurrencySemaphore.tryAcquire()) {
-                return;
+    /**
+     * Runs engine-internal writes such as undo and redo under an exclusive claim on the chunks
+     * they change, so they never interleave with an operation editing those chunks (and its
+     * capture of their old state). The work starts once no running operation holds any of the
+     * chunks; until then it waits, and queued operations that need one of them wait behind it.
+     * It does not take a concurrency slot.
+     *
+     * @return Completed with the work's result once it finished and the chunks were released.
+     */
+    @NotNull
+    public <T> CompletableFuture<T> runLocked(@NotNull World world, @NotNull List<ChunkPos> chunks,
+                                              @NotNull Supplier<CompletableFuture<T>> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        RegionLockTable.Claim claim = RegionLockTable.Claim.of(world, chunks, false);
+        Runnable start = () -> {
+            CompletableFuture<T> workFuture;
+            try {
+                workFuture = work.get();
+            } catch (Exception e) {
+                workFuture = CompletableFuture.failedFuture(e); // Still release the chunks below.
             }
+            workFuture.whenComplete((value, throwable) -> {
+                regionLocks.release(claim);
+                wakeDispatcher();
+                if (throwable != null) {
+                    result.completeExceptionally(throwable);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+        synchronized (this) {
+            pendingLockedWork.add(new LockedWork(claim, start));
+        }
+        wakeDispatcher();
+        return result;
+    }
 
-            QueuedOperation queuedOp = operationQueue.poll();
-            if (queuedOp == null) {
+    /**
+     * Schedules one dispatch pass on the async scheduler. Called whenever an operation is
+     * queued or finishes; wakeups that arrive while a pass is already pending are coalesced,
+     * so an idle engine costs nothing.
+     */
+    private void wakeDispatcher() {
+        if (shuttingDown || !dispatchScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Bukkit.getAsyncScheduler().runNow(plugin, (task) -> {
+            dispatchScheduled.set(false); // Cleared first so events during this pass schedule another one.
+            dispatchPending();
+        });
+    }
+
+    /**
+     * Starts queued operations until the queue is empty, no concurrency permit is left, or
+     * every player with queued work already runs {@code max-operations-per-player} operations,
+     * is paused, or needs chunks that a running operation holds.
+     * <p>
+     * Waiting internal work (see {@link #runLocked}) is started first.
+     * <p>
+     * Synchronized so that the lock check in the poll and the acquisition afterwards cannot
+     * interleave with another pass; locks are only ever taken here.
+     */
+    private synchronized void dispatchPending() {
+        startLockedWork();
+        while (!shuttingDown && !operationQueue.isEmpty() && concurrencySemaphore.tryAcquire()) {
+            OperationHandle handle = operationQueue.poll(queued -> !queued.isPaused() && regionLocks.canAcquire(queued.getLockClaim())
+                    && !blockedByLockedWork(queued.getLockClaim()));
+            if (handle == null) {
                 concurrencySemaphore.release();
                 return;
             }
+            regionLocks.tryAcquire(handle.getLockClaim());
+            startOperation(handle);
+        }
+    }
 
-            BlockOperation operation = queuedOp.operation();
-            CompletableFuture<ChangeSet> operationFuture = queuedOp.future();
-            Player player = operation.getPlayer();
+    /**
+     * Starts the waiting internal work whose chunks are free, in submission order: work that
+     * conflicts with earlier waiting work stays behind it.
+     */
+    private void startLockedWork() {
+        List<RegionLockTable.Claim> stillWaiting = new ArrayList<>();
+        List<LockedWork> toStart = new ArrayList<>();
+        for (Iterator<LockedWork> iterator = pendingLockedWork.iterator(); iterator.hasNext(); ) {
+            LockedWork work = iterator.next();
+            boolean behindEarlier = stillWaiting.stream().anyMatch(work.claim()::conflictsWith);
+            if (!shuttingDown && !behindEarlier && regionLocks.tryAcquire(work.claim())) {
+                iterator.remove();
+                toStart.add(work);
+            } else {
+                stillWaiting.add(work.claim());
+            }
+        }
+        for (LockedWork work : toStart) {
+            work.start().run();
+        }
+    }
 
-            if (player != null && player.isOnline()) {
-                MessageUtil.sendActionBar(player, "&bProcessing: &e" + operation.getOperationName() + "&b...");
-            } else if (player == null) {
-                plugin.getLogger().info("Processing: " + operation.getOperationName() + "...");
+    private boolean blockedByLockedWork(RegionLockTable.Claim claim) {
+        for (LockedWork work : pendingLockedWork) {
+            if (work.claim().conflictsWith(claim)) {
+                return true;
             }
+        }
+        return false;
+    }
 
-            long startTime = System.currentTimeMillis();
-            CompletableFuture<ChangeSet> executionResultFuture = operation.execute(plugin);
+    private void startOperation(OperationHandle handle) {
+        BlockOperation operation = handle.getOperation();
+        CompletableFuture<ChangeSet> operationFuture = handle.getFuture();
+        Player player = operation.getPlayer();
+        handle.setState(OperationHandle.State.RUNNING);
+        handle.getProgress().markStarted();
+        progressDisplay.ensureRunning();
 
-            executionResultFuture.whenCompleteAsync((changeSet, throwable) -> {
-                concurrencySemaphore.release();
-                long duration = System.currentTimeMillis() - startTime;
+        if (player != null && player.isOnline()) {
+            MessageUtil.sendActionBar(player, "&bProcessing: &e" + operation.getOperationName() + "&b...");
+        } else if (player == null) {
+            plugin.getLogger().info("Processing: " + operation.getOperationName() + "...");
+        }
 
-                if (throwable != null) {
-                    plugin.getLogger().log(Level.SEVERE, "Operation " + operation.getOperationName() + " failed for " +
-                            (player != null ? player.getName() : "CONSOLE"), throwable);
-                    if (player != null && player.isOnline()) {
-                        MessageUtil.sendMessage(player, "&cOperation &e" + operation.getOperationName() + "&c failed after " + duration + "ms: &7" + throwable.getMessage());
+        long startTime = System.currentTimeMillis();
+        CompletableFuture<ChangeSet> executionResultFuture;
+        try {
+            executionResultFuture = operation.execute(plugin);
+        } catch (Exception e) {
+            executionResultFuture = CompletableFuture.failedFuture(e); // Still release the permit below.
+        }
+
+        executionResultFuture.whenCompleteAsync((changeSet, throwable) -> {
+            concurrencySemaphore.release();
+            operationQueue.release(handle.getOwner());
+            regionLocks.release(handle.getLockClaim());
+            activeHandles.remove(handle);
+            wakeDispatcher();
+            long duration = System.currentTimeMillis() - startTime;
+
+            OperationCancelledException cancelled = OperationCancelledException.find(throwable);
+            if (cancelled != null) {
+                ChangeSet partialChanges = cancelled.getPartialChanges();
+                int changedBlocks = partialChanges != null ? partialChanges.getSize() : 0;
+                if (player != null && player.isOnline()) {
+                    if (partialChanges != null && !partialChanges.isEmpty()) {
+                        historyManager.recordChangeSet(player, partialChanges);
+                        MessageUtil.sendMessage(player, "&eOperation &6" + operation.getOperationName() + "&e cancelled after " + duration + "ms. "
+                                + describeChanges(partialChanges) + " had already been changed; use &6//undo&e to revert them.");
+                    } else {
+                        MessageUtil.sendMessage(player, "&eOperation &6" + operation.getOperationName() + "&e cancelled after " + duration + "ms. No blocks were changed.");
                     }
-                    operationFuture.completeExceptionally(throwable);
-                } else {
-                    if (player != null && player.isOnline()) {
-                        if (changeSet != null && !changeSet.isEmpty()) {
-                            historyManager.recordChangeSet(player, changeSet);
-                            MessageUtil.sendMessage(player, "&aOperation &e" + operation.getOperationName() + "&a completed in " + duration + "ms. Modified " + changeSet.getSize() + " blocks.");
-                        } else {
-                            MessageUtil.sendMessage(player, "&aOperation &e" + operation.getOperationName() + "&a completed in " + duration + "ms. No blocks were changed.");
-                        }
-                    } else if (player == null) {
-                        plugin.getLogger().info("Operation " + operation.getOperationName() + " completed in " + duration + "ms. Modified " +
-                                (changeSet != null ? changeSet.getSize() : 0) + " blocks.");
+                } else if (player == null) {
+                    plugin.getLogger().info("Operation " + operation.getOperationName() + " cancelled after " + duration + "ms. Modified " + changedBlocks + " blocks.");
+                }
+                handle.setState(OperationHandle.State.CANCELLED);
+                operationFuture.completeExceptionally(cancelled);
+            } else if (throwable != null) {
+                plugin.getLogger().log(Level.SEVERE, "Operation " + operation.getOperationName() + " failed for " +
+                        (player != null ? player.getName() : "CONSOLE"), throwable);
+                if (player != null && player.isOnline()) {
+                    MessageUtil.sendMessage(player, "&cOperation &e" + operation.getOperationName() + "&c failed after " + duration + "ms: &7" + throwable.getMessage());
+                }
+                handle.setState(OperationHandle.State.FAILED);
+                operationFuture.completeExceptionally(throwable);
+            } else {
+                if (player != null && player.isOnline()) {
+                    if (changeSet != null && !changeSet.isEmpty()) {
+                        historyManager.recordChangeSet(player, changeSet);
+                        MessageUtil.sendMessage(player, "&aOperation &e" + operation.getOperationName() + "&a completed in " + duration + "ms. Modified " + describeChanges(changeSet) + "."
+                                + seedSuffix(operation));
+                    } else if (operation.isReadOnly()) {
+                        // Read-only operations report their own results; they never change blocks.
+                        MessageUtil.sendMessage(player, "&aOperation &e" + operation.getOperationName() + "&a completed in " + duration + "ms.");
+                    } else {
+                        MessageUtil.sendMessage(player, "&aOperation &e" + operation.getOperationName() + "&a completed in " + duration + "ms. No blocks were changed.");
                     }
-                    operationFuture.complete(changeSet);
+                } else if (player == null) {
+                    plugin.getLogger().info("Operation " + operation.getOperationName() + " completed in " + duration + "ms."
+                            + (operation.isReadOnly() ? "" : " Modified " + (changeSet != null ? describeChanges(changeSet) : "0 blocks") + ".")
+                            + (operation.getRandomSeed() != null ? " Seed: " + operation.getRandomSeed() : ""));
+                }
+                if (!operation.isReadOnly()) {
+                    recordThroughput(handle.getProgress());
                 }
-            }, Bukkit.getScheduler().getMainThreadExecutor(plugin));
+                handle.setState(OperationHandle.State.COMPLETED);
+                operationFuture.complete(changeSet);
+            }
+        }, Bukkit.getScheduler().getMainThreadExecutor(plugin));
+    }
 
-        }, 0L, 1L, TimeUnit.MILLISECONDS);
+    /**
+     * Folds a finished edit's average rate into {@link #getRecentBlocksPerSecond()}.
+     */
+    private void recordThroughput(OperationProgress progress) {
+        double rate = progress.getBlocksPerSecond();
+        if (rate <= 0) {
+            return;
+        }
+        double previous = recentBlocksPerSecond;
+        recentBlocksPerSecond = previous < 0 ? rate : previous * 0.7 + rate * 0.3;
     }
 
-    public void shutdown() {
-        if (processingTask != null) {
-            processingTask.cancel();
-            processingTask = null;
+    /**
+     * @return Blocks processed per second by recently finished edits, or -1 if none has finished yet.
+     */
+    public double getRecentBlocksPerSecond() {
+        return recentBlocksPerSecond;
+    }
+
+    /**
+     * "12 blocks", or "12 blocks and 40 biome cells" when biomes were changed too.
+     */
+    private static String describeChanges(@NotNull ChangeSet changeSet) {
+        int biomeCells = changeSet.getBiomeChangeCount();
+        return changeSet.getSize() + " blocks" + (biomeCells > 0 ? " and " + biomeCells + " biome cells" : "");
+    }
+
+    /**
+     * Shows the pattern seed after a completion message, so the player can repeat the edit with {@code -s}.
+     */
+    private static String seedSuffix(BlockOperation operation) {
+        Long seed = operation.getRandomSeed();
+        return seed != null ? " &7(seed &f" + seed + "&7)" : "";
+    }
+
+    /**
+     * Called by {@link OperationHandle#cancel()}. Queued operations are removed right away;
+     * running ones see the request at their next checkpoint.
+     */
+    void onCancelRequested(@NotNull OperationHandle handle) {
+        if (!operationQueue.remove(handle.getOwner(), handle)) {
+            handle.notifyControlListeners(); // Already running; a paused pipeline must see the cancel to finish.
+            return;
+        }
+        activeHandles.remove(handle);
+        handle.setState(OperationHandle.State.CANCELLED);
+        Player player = handle.getOperation().getPlayer();
+        if (player != null && player.isOnline()) {
+            MessageUtil.sendMessage(player, "&eQueued operation &6" + handle.getOperation().getOperationName() + "&e cancelled.");
+        }
+        handle.getFuture().completeExceptionally(new OperationCancelledException(null));
+        wakeDispatcher(); // The removed operation may have been blocking its owner's queue.
+    }
+
+    void onResumed(@NotNull OperationHandle handle) {
+        handle.notifyControlListeners(); // Restarts pipelines that stopped starting chunks while paused.
+        wakeDispatcher();
+    }
+
+    /**
+     * @return The handle of a queued or running operation, or null if the operation is not managed by this engine.
+     */
+    @Nullable
+    public OperationHandle getHandle(@NotNull BlockOperation operation) {
+        for (OperationHandle handle : activeHandles) {
+            if (handle.getOperation() == operation) {
+                return handle;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Live progress of a queued or running operation, or null if the operation is not managed by this engine.
+     */
+    @Nullable
+    public OperationProgress getProgress(@NotNull BlockOperation operation) {
+        OperationHandle handle = getHandle(operation);
+        return handle != null ? handle.getProgress() : null;
+    }
+
+    /**
+     * @return The player's queued and running operations, oldest first.
+     */
+    @NotNull
+    public List<OperationHandle> getHandles(@NotNull Player player) {
+        List<OperationHandle> handles = new ArrayList<>();
+        for (OperationHandle handle : activeHandles) {
+            if (player.getUniqueId().equals(handle.getOwner())) {
+                handles.add(handle);
+            }
         }
+        return handles;
+    }
+
+    /**
+     * @return All queued and running operations, oldest first.
+     */
+    @NotNull
+    public List<OperationHandle> getHandles() {
+        return new ArrayList<>(activeHandles);
+    }
+
+    /**
+     * Runs a resumable unit of work on the global region thread, once per tick, until it
+     * reports completion. All units running on the same thread in the same tick share one
+     * time budget, so the total time spent on edits per tick stays flat no matter how many
+     * operations are active. The budget follows server health, see {@link TickBudgetController}.
+     *
+     * @param unit The work to drive.
+     * @return A future completed when the unit finishes, or exceptionally if it throws.
+     */
+    public CompletableFuture<Void> runWorkUnit(@NotNull WorkUnit unit) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, (task) -> driveWorkUnit(task, unit, future), 1L, 1L);
+        return future;
+    }
+
+    /**
+     * Runs a resumable unit of work on the region thread that owns the given chunk.
+     * Behaves like {@link #runWorkUnit(WorkUnit)} otherwise; on Folia and other
+     * threaded-region servers, units for different regions run in parallel.
+     *
+     * @param world  The world containing the chunk.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     * @param unit   The work to drive. It must only touch blocks inside that chunk.
+     * @return A future completed when the unit finishes, or exceptionally if it throws.
+     */
+    public CompletableFuture<Void> runWorkUnit(@NotNull World world, int chunkX, int chunkZ, @NotNull WorkUnit unit) {
+        return runWorkUnit(world, chunkX, chunkZ, unit, null);
+    }
+
+    /**
+     * Runs a unit of work on behalf of an operation. Each tick slice is a checkpoint: while
+     * the handle is paused the unit is not resumed, and once cancellation is requested the
+     * unit is dropped and the future completes normally, keeping whatever it already recorded.
+     */
+    public CompletableFuture<Void> runWorkUnit(@NotNull World world, int chunkX, int chunkZ, @NotNull WorkUnit unit,
+                                               @Nullable OperationHandle handle) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Bukkit.getRegionScheduler().runAtFixedRate(plugin, world, chunkX, chunkZ, (task) -> driveWorkUnit(task, unit, future, handle), 1L, 1L);
+        return future;
+    }
+
+    private void driveWorkUnit(ScheduledTask task, WorkUnit unit, CompletableFuture<Void> future) {
+        driveWorkUnit(task, unit, future, null);
+    }
+
+    private void driveWorkUnit(ScheduledTask task, WorkUnit unit, CompletableFuture<Void> future, @Nullable OperationHandle handle) {
+        if (handle != null) {
+            if (handle.isCancelRequested()) {
+                task.cancel();
+                future.complete(null);
+                return;
+            }
+            if (handle.isPaused()) {
+                return;
+            }
+        }
+        long deadlineNanos = currentTickDeadline();
+        if (System.nanoTime() >= deadlineNanos) {
+            return; // Budget already spent by other units this tick.
+        }
+        try {
+            if (unit.process(deadlineNanos)) {
+                task.cancel();
+                future.complete(null);
+            }
+        } catch (Throwable t) {
+            task.cancel();
+            future.completeExceptionally(t);
+        }
+    }
+
+    private long currentTickDeadline() {
+        long[] window = tickBudgetWindow.get();
+        long tick = Bukkit.getCurrentTick();
+        if (window[0] != tick) {
+            window[0] = tick;
+            window[1] = System.nanoTime() + tickBudget.getBudgetNanos();
+        }
+        return window[1];
+    }
+
+    public void shutdown() {
+        shuttingDown = true;
+        tickBudget.stop();
+        progressDisplay.stop();
+        workerPool.shutdownNow();
         plugin.getLogger().info("TaskEngine shutting down. " + operationQueue.size() + " operations in queue will be dropped.");
-        operationQueue.forEach(queuedOp -> {
-            if (!queuedOp.future().isDone()) {
-                queuedOp.future().completeExceptionally(new IllegalStateException("Plugin shutting down"));
+        operationQueue.drain().forEach(handle -> {
+            activeHandles.remove(handle);
+            if (!handle.getFuture().isDone()) {
+                handle.getFuture().completeExceptionally(new IllegalStateException("Plugin shutting down"));
             }
         });
-        operationQueue.clear();
+        activeHandles.forEach(OperationHandle::cancel); // Stops running operations at their next checkpoint.
     }
 
     public int getQueueSize() {
         return operationQueue.size();
     }
 
+    /**
+     * @return The pool for work that only reads snapshots or plain data. Tasks on it must never touch the world.
+     */
+    @NotNull
+    public Executor getWorkerExecutor() {
+        return workerPool;
+    }
+
+    /**
+     * @return How many chunks an operation may have loading asynchronously ahead of the chunk it is editing.
+     */
+    public int getChunkPrefetchDepth() {
+        return chunkPrefetchDepth;
+    }
+
+    /**
+     * Whether an edit of the given size should write without per-block lighting and client
+     * updates, and refresh each changed chunk once when it is done instead. Only true when the
+     * installed {@link SectionFlusher} supports it.
+     */
+    public boolean shouldDeferUpdates(long estimatedBlocks) {
+        return deferredUpdatesEnabled && estimatedBlocks >= deferredUpdatesMinBlocks
+                && ExtentWriter.getSectionFlusher().supportsDeferredUpdates();
+    }
+
+    /**
+     * @return The current per-tick edit budget and, when it adapts to server load, the MSPT it last reacted to.
+     */
+    @NotNull
+    public String describeTickBudget() {
+        String budget = String.format("%.1fms", tickBudget.getBudgetMs());
+        if (!tickBudget.isAdaptive()) {
+            return budget + " (fixed)";
+        }
+        double mspt = tickBudget.getLastMspt();
+        return budget + " (adaptive" + (mspt >= 0 ? String.format(", MSPT %.1f", mspt) : "") + ")";
+    }
+
+    /**
+     * @return How many chunks are currently locked by running operations.
+     */
+    public int getLockedChunkCount() {
+        return regionLocks.size();
+    }
+
     public int getActiveOperations() {
         return maxConcurrentOperations - concurrencySemaphore.availablePermits();
     }
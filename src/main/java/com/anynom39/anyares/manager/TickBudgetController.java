@@ -0,0 +1,126 @@
+package com.anynom39.anyares.manager;
+
+import com.anynom39.anyares.AnyARES_Core;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * Adapts the {@link TaskEngine}'s per-tick edit budget to the server's health.
+ * <p>
+ * Every {@code adjust-interval-ticks} the controller reads the average tick time (MSPT) and
+ * the one-minute TPS. The budget moves proportionally to the distance between MSPT and
+ * {@code target-mspt}: it grows while the server has headroom and shrinks as MSPT climbs
+ * towards 50 ms. Once the server is actually falling behind (MSPT over a full tick, or TPS
+ * under {@code min-tps}) the budget is halved per sample. The result is clamped to
+ * {@code min-tick-budget-ms} / {@code max-tick-budget-ms}.
+ * <p>
+ * With adaptation disabled, or on servers that do not report tick times, the fixed
+ * {@code tick-budget-ms} is used.
+ */
+class TickBudgetController {
+
+    private static final double TICK_MS = 50.0;
+    private static final double ADJUST_GAIN = 0.25; // Budget ms per ms of MSPT headroom, per sample.
+
+    private final AnyARES_Core plugin;
+    private ScheduledTask sampleTask;
+
+    private boolean enabled;
+    private double baseBudgetMs;
+    private double minBudgetMs;
+    private double maxBudgetMs;
+    private double targetMspt;
+    private double minTps;
+    private int adjustIntervalTicks;
+
+    private volatile double budgetMs;
+    private volatile double lastMspt = -1;
+
+    TickBudgetController(AnyARES_Core plugin) {
+        this.plugin = plugin;
+    }
+
+    void loadConfig() {
+        FileConfiguration config = plugin.getConfig();
+        String path = "core-settings.task-engine.";
+
+        this.baseBudgetMs = config.getDouble(path + "tick-budget-ms", 10.0);
+        if (this.baseBudgetMs <= 0) this.baseBudgetMs = 10.0;
+
+        this.enabled = config.getBoolean(path + "adaptive-budget.enabled", true);
+        this.minBudgetMs = config.getDouble(path + "adaptive-budget.min-tick-budget-ms", 2.0);
+        if (this.minBudgetMs <= 0) this.minBudgetMs = 2.0;
+        this.maxBudgetMs = config.getDouble(path + "adaptive-budget.max-tick-budget-ms", 30.0);
+        if (this.maxBudgetMs < this.minBudgetMs) this.maxBudgetMs = this.minBudgetMs;
+        this.targetMspt = config.getDouble(path + "adaptive-budget.target-mspt", 40.0);
+        if (this.targetMspt <= 0 || this.targetMspt > TICK_MS) this.targetMspt = 40.0;
+        this.minTps = config.getDouble(path + "adaptive-budget.min-tps", 18.5);
+        this.adjustIntervalTicks = config.getInt(path + "adaptive-budget.adjust-interval-ticks", 20);
+        if (this.adjustIntervalTicks <= 0) this.adjustIntervalTicks = 20;
+
+        this.budgetMs = enabled ? clamp(baseBudgetMs) : baseBudgetMs;
+    }
+
+    void start() {
+        stop();
+        if (!enabled) {
+            return;
+        }
+        sampleTask = Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, (task) -> sample(),
+                adjustIntervalTicks, adjustIntervalTicks);
+    }
+
+    void stop() {
+        if (sampleTask != null) {
+            sampleTask.cancel();
+            sampleTask = null;
+        }
+    }
+
+    long getBudgetNanos() {
+        return (long) (budgetMs * 1_000_000L);
+    }
+
+    double getBudgetMs() {
+        return budgetMs;
+    }
+
+    boolean isAdaptive() {
+        return enabled && sampleTask != null;
+    }
+
+    /**
+     * @return The MSPT seen at the last sample, or -1 before the first one.
+     */
+    double getLastMspt() {
+        return lastMspt;
+    }
+
+    private void sample() {
+        double mspt;
+        double tps;
+        try {
+            mspt = Bukkit.getServer().getAverageTickTime();
+            tps = Bukkit.getServer().getTPS()[0];
+        } catch (UnsupportedOperationException e) {
+            plugin.getLogger().warning("Server does not report tick times; using the fixed tick budget of " + baseBudgetMs + "ms.");
+            stop();
+            budgetMs = baseBudgetMs;
+            return;
+        }
+        lastMspt = mspt;
+
+        double next;
+        if (mspt >= TICK_MS || tps < minTps) {
+            next = budgetMs * 0.5; // Already losing ticks: back off hard.
+        } else {
+            next = budgetMs + (targetMspt - mspt) * ADJUST_GAIN;
+        }
+        budgetMs = clamp(next);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minBudgetMs, Math.min(maxBudgetMs, value));
+    }
+}
\ No newline at end of file
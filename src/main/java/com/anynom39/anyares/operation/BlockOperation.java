@@ -7,6 +7,7 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 public interface BlockOperation {
@@ -22,4 +23,29 @@ public interface BlockOperation {
     String getOperationName();
 
     long getEstimatedBlocks();
+
+    /**
+     * The chunk columns this operation reads or writes. The TaskEngine locks them while the
+     * operation runs, so operations touching the same chunks never run at the same time.
+     */
+    @NotNull
+    default List<ChunkPos> getAffectedChunks() {
+        return SelectionChunks.getChunks(getSelection());
+    }
+
+    /**
+     * @return true if the operation never modifies the world. Read-only operations may share chunks with each other.
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * @return The seed random patterns are sampled with, shown to the player so the edit can be
+     * repeated exactly, or null if the operation does not sample anything.
+     */
+    @Nullable
+    default Long getRandomSeed() {
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.history.ChangeSet;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
+
+/**
+ * Portable {@link SectionFlusher} using only the Bukkit API. The chunk is resolved once per
+ * section and blocks are addressed chunk-locally, instead of a world lookup per block.
+ * Every write updates lighting and clients immediately, so deferred updates are not supported.
+ */
+public class BukkitSectionFlusher implements SectionFlusher {
+
+    @Override
+    public int flushSection(@NotNull World world, int chunkX, int chunkZ, int sectionY, @NotNull BlockData[] blocks,
+                            @Nullable Predicate<BlockData> liveFilter, @Nullable ChangeSet changes, boolean deferUpdates) {
+        Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+        int baseY = sectionY << 4;
+        int changed = 0;
+        for (int index = 0; index < blocks.length; index++) {
+            BlockData newBlockData = blocks[index];
+            if (newBlockData == null) continue;
+
+            Block block = chunk.getBlock(index & 15, baseY + (index >> 8), (index >> 4) & 15);
+            BlockData oldBlockData = block.getBlockData();
+            if (oldBlockData.matches(newBlockData) || (liveFilter != null && !liveFilter.test(oldBlockData))) {
+                continue;
+            }
+            if (changes != null) {
+                changes.recordChange(block.getX(), block.getY(), block.getZ(), oldBlockData, newBlockData);
+            }
+            block.setBlockData(newBlockData, false);
+            changed++;
+        }
+        return changed;
+    }
+}
\ No newline at end of file
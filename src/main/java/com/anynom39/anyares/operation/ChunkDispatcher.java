@@ -0,0 +1,407 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.history.ChangeSet;
+import com.anynom39.anyares.manager.OperationHandle;
+import com.anynom39.anyares.manager.TaskEngine;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Dispatches per-chunk pieces of an operation to the region threads that own them and
+ * merges the per-chunk {@link ChangeSet}s back into one.
+ * <p>
+ * Chunks are processed as a pipeline: before a chunk's work is scheduled, the chunk is
+ * requested with {@link World#getChunkAtAsync(int, int)}, and up to
+ * {@code core-settings.task-engine.chunk-prefetch-depth} further chunks are loading while
+ * earlier ones are being edited. Work units therefore never trigger a synchronous chunk load.
+ * <p>
+ * Each chunk records into its own ChangeSet, so region threads never contend on a shared
+ * history list. The merged result keeps the order of the chunk list.
+ * <p>
+ * When dispatched on behalf of an operation, the operation's {@link OperationHandle} is
+ * honoured: no new chunks start and no snapshots are evaluated while it is paused, nothing new
+ * starts after it was cancelled, and a cancelled dispatch completes with an
+ * {@link OperationCancelledException} holding the changes made so far.
+ * The handle's {@link OperationProgress} is updated after every tick slice.
+ * <p>
+ * Operations that mostly read can use {@link #dispatchSnapshots}: each chunk is captured as a
+ * {@link ChunkSnapshot} on its owning thread, evaluated on the TaskEngine's worker pool, and
+ * only the writes that came out of the evaluation are scheduled back on the owning thread.
+ * <p>
+ * Large edits can be dispatched with deferred updates (see {@link TaskEngine#shouldDeferUpdates(long)}):
+ * their {@link ExtentWriter}s write without per-block lighting and client updates, and every chunk
+ * that changed is handed to {@link SectionFlusher#refreshChunk} exactly once, as soon as its work
+ * finished or was dropped by a cancel or failure.
+ */
+public final class ChunkDispatcher {
+
+    private ChunkDispatcher() {
+    }
+
+    /**
+     * Creates the work for one chunk. The returned unit runs on the chunk's owning region
+     * thread and must record its changes into {@code chunkChanges}.
+     */
+    @FunctionalInterface
+    public interface ChunkWorkFactory {
+        @NotNull
+        WorkUnit create(int chunkX, int chunkZ, @NotNull ChangeSet chunkChanges);
+    }
+
+    /**
+     * Reads one chunk from its snapshot. Runs on a worker thread, so it must not touch the
+     * world; the returned unit (if any) runs on the chunk's owning region thread and must
+     * record its changes into {@code chunkChanges}.
+     */
+    @FunctionalInterface
+    public interface SnapshotReader {
+        @NotNull
+        SnapshotRead read(int chunkX, int chunkZ, @NotNull ChunkSnapshot snapshot, @NotNull ChangeSet chunkChanges) throws Exception;
+    }
+
+    /**
+     * Outcome of reading one chunk snapshot.
+     *
+     * @param blocksRead How many blocks were evaluated, for progress reporting.
+     * @param writes     The writes to apply on the owning thread, or null if the chunk needs none.
+     */
+    public record SnapshotRead(long blocksRead, @Nullable WorkUnit writes) {
+    }
+
+    @NotNull
+    public static CompletableFuture<ChangeSet> dispatch(@NotNull AnyARES_Core core, @NotNull World world,
+                                                        @NotNull List<ChunkPos> chunks, @NotNull ChunkWorkFactory factory) {
+        return dispatch(core, world, chunks, false, factory);
+    }
+
+    /**
+     * Dispatches engine-internal work such as undo. Without an operation nothing is recorded,
+     * so with deferred updates every chunk that was handed to a unit is refreshed.
+     *
+     * @param deferUpdates Whether the units' writers defer updates, as decided by {@link TaskEngine#shouldDeferUpdates(long)}.
+     */
+    @NotNull
+    public static CompletableFuture<ChangeSet> dispatch(@NotNull AnyARES_Core core, @NotNull World world, @NotNull List<ChunkPos> chunks,
+                                                        boolean deferUpdates, @NotNull ChunkWorkFactory factory) {
+        Pipeline pipeline = new Pipeline(core, null, world, chunks, factory, null, core.getTaskEngine().getChunkPrefetchDepth(), deferUpdates, true);
+        pipeline.start();
+        return pipeline.result;
+    }
+
+    /**
+     * @param operation The operation the work belongs to, used to look up its handle. Null for engine-internal work such as undo.
+     */
+    @NotNull
+    public static CompletableFuture<ChangeSet> dispatch(@NotNull AnyARES_Core core, @Nullable BlockOperation operation, @NotNull World world,
+                                                        @NotNull List<ChunkPos> chunks, @NotNull ChunkWorkFactory factory) {
+        OperationHandle handle = operation != null ? core.getTaskEngine().getHandle(operation) : null;
+        Pipeline pipeline = new Pipeline(core, handle, world, chunks, factory, null, core.getTaskEngine().getChunkPrefetchDepth(),
+                defersUpdates(core, operation), operation == null);
+        pipeline.start();
+        return pipeline.result;
+    }
+
+    /**
+     * Like {@link #dispatch(AnyARES_Core, BlockOperation, World, List, ChunkWorkFactory)}, but reads
+     * each chunk from a snapshot on the worker pool and only schedules the resulting writes.
+     */
+    @NotNull
+    public static CompletableFuture<ChangeSet> dispatchSnapshots(@NotNull AnyARES_Core core, @Nullable BlockOperation operation, @NotNull World world,
+                                                                 @NotNull List<ChunkPos> chunks, @NotNull SnapshotReader reader) {
+        OperationHandle handle = operation != null ? core.getTaskEngine().getHandle(operation) : null;
+        Pipeline pipeline = new Pipeline(core, handle, world, chunks, null, reader, core.getTaskEngine().getChunkPrefetchDepth(),
+                defersUpdates(core, operation), operation == null);
+        pipeline.start();
+        return pipeline.result;
+    }
+
+    /**
+     * Whether the operation's writes should be deferred. Operations pass the same answer to
+     * their {@link ExtentWriter}s so the writers and the final refresh agree.
+     */
+    public static boolean defersUpdates(@NotNull AnyARES_Core core, @Nullable BlockOperation operation) {
+        return operation != null && core.getTaskEngine().shouldDeferUpdates(operation.getEstimatedBlocks());
+    }
+
+    private static final class Pipeline {
+        private final AnyARES_Core core;
+        private final OperationHandle handle;
+        private final OperationProgress progress;
+        private final World world;
+        private final List<ChunkPos> chunks;
+        private final ChunkWorkFactory factory; // Exactly one of factory and reader is set.
+        private final SnapshotReader reader;
+        private final int maxInFlight;
+        private final boolean deferUpdates;
+        private final boolean unrecorded; // Internal work records nothing, so any chunk it touched may be dirty.
+        private final ChangeSet[] chunkResults;
+        private final CompletableFuture<ChangeSet> result = new CompletableFuture<>();
+
+        // Guarded by this.
+        private int nextIndex = 0;
+        private int inFlight = 0;
+        private int finished = 0;
+        private boolean completed = false;
+        private Throwable failure;
+        private final Runnable refill = this::fill; // Registered with the handle while the pipeline runs.
+
+        Pipeline(AnyARES_Core core, OperationHandle handle, World world, List<ChunkPos> chunks,
+                 ChunkWorkFactory factory, SnapshotReader reader, int prefetchDepth, boolean deferUpdates, boolean unrecorded) {
+            this.core = core;
+            this.handle = handle;
+            this.progress = handle != null ? handle.getProgress() : null;
+            this.world = world;
+            this.chunks = chunks;
+            this.factory = factory;
+            this.reader = reader;
+            this.maxInFlight = 1 + Math.max(0, prefetchDepth); // The chunk being edited plus the ones loading ahead of it.
+            this.deferUpdates = deferUpdates;
+            this.unrecorded = unrecorded;
+            this.chunkResults = new ChangeSet[chunks.size()];
+        }
+
+        void start() {
+            if (chunks.isEmpty()) {
+                result.complete(new ChangeSet(world));
+                return;
+            }
+            if (progress != null) {
+                progress.addTotalChunks(chunks.size());
+            }
+            if (handle != null) {
+                handle.addControlListener(refill);
+            }
+            fill();
+        }
+
+        private void fill() {
+            List<Integer> toStart = new ArrayList<>();
+            boolean stopped;
+            synchronized (this) {
+                if (completed) {
+                    return; // A late resume or cancel.
+                }
+                while (failure == null && !isCancelled() && !isPaused() && nextIndex < chunks.size() && inFlight < maxInFlight) {
+                    toStart.add(nextIndex++);
+                    inFlight++;
+                }
+                // Cancelled between the last chunk finishing and this refill. A paused pipeline with
+                // nothing in flight just waits; resuming or cancelling calls fill() again.
+                stopped = inFlight == 0 && (failure != null || isCancelled() || nextIndex == chunks.size());
+                completed = stopped;
+            }
+            if (stopped) {
+                complete();
+                return;
+            }
+            for (int index : toStart) {
+                startChunk(index);
+            }
+        }
+
+        private void startChunk(int index) {
+            ChunkPos chunk = chunks.get(index);
+            boolean[] ticketHeld = {false};
+            world.getChunkAtAsync(chunk.x(), chunk.z())
+                    .thenCompose(loadedChunk -> {
+                        // Completes on the owning thread.
+                        if (isCancelled()) {
+                            return CompletableFuture.<Void>completedFuture(null);
+                        }
+                        // Keep the chunk loaded for the ticks the unit needs.
+                        ticketHeld[0] = world.addPluginChunkTicket(chunk.x(), chunk.z(), core);
+                        ChangeSet chunkChanges = new ChangeSet(world);
+                        chunkResults[index] = chunkChanges;
+                        if (reader != null) {
+                            ChunkSnapshot snapshot = loadedChunk.getChunkSnapshot(true, false, false); // With the heightmap, for terrain operations.
+                            return whenRunnable()
+                                    .thenApplyAsync(ignored -> isCancelled() ? new SnapshotRead(0, null) : readSnapshot(chunk, snapshot, chunkChanges),
+                                            core.getTaskEngine().getWorkerExecutor())
+                                    .thenCompose(read -> applyWrites(chunk, read, chunkChanges));
+                        }
+                        return runUnit(chunk, factory.create(chunk.x(), chunk.z(), chunkChanges), chunkChanges);
+                    })
+                    .whenComplete((ignored, throwable) -> {
+                        // Also after a failure or cancel: whatever was written must still reach the clients.
+                        refreshIfDirty(index);
+                        if (ticketHeld[0]) {
+                            world.removePluginChunkTicket(chunk.x(), chunk.z(), core);
+                        }
+                        onChunkFinished(throwable);
+                    });
+        }
+
+        /**
+         * Completes once the operation is not paused, or cancellation was requested.
+         */
+        private CompletableFuture<Void> whenRunnable() {
+            if (!isPaused()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> runnable = new CompletableFuture<>();
+            Runnable listener = () -> {
+                if (!isPaused() || isCancelled()) {
+                    runnable.complete(null);
+                }
+            };
+            handle.addControlListener(listener);
+            listener.run(); // Resumed before the listener was registered.
+            return runnable.whenComplete((ignored, throwable) -> handle.removeControlListener(listener));
+        }
+
+        private SnapshotRead readSnapshot(ChunkPos chunk, ChunkSnapshot snapshot, ChangeSet chunkChanges) {
+            try {
+                return reader.read(chunk.x(), chunk.z(), snapshot, chunkChanges);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }
+
+        private CompletableFuture<Void> applyWrites(ChunkPos chunk, SnapshotRead read, ChangeSet chunkChanges) {
+            if (progress != null) {
+                progress.addBlocksProcessed(read.blocksRead());
+            }
+            if (read.writes() == null || isCancelled()) {
+                if (progress != null) {
+                    progress.chunkDone();
+                }
+                return CompletableFuture.completedFuture(null); // Nothing to write, so the owning thread is not bothered again.
+            }
+            return runUnit(chunk, read.writes(), chunkChanges);
+        }
+
+        private CompletableFuture<Void> runUnit(ChunkPos chunk, WorkUnit unit, ChangeSet chunkChanges) {
+            if (progress != null) {
+                unit = new ProgressReportingUnit(unit, chunkChanges, progress);
+            }
+            return core.getTaskEngine().runWorkUnit(world, chunk.x(), chunk.z(), unit, handle);
+        }
+
+        private void onChunkFinished(Throwable throwable) {
+            boolean done;
+            synchronized (this) {
+                inFlight--;
+                finished++;
+                if (throwable != null && failure == null) {
+                    failure = throwable;
+                }
+                done = !completed && (finished == chunks.size() || ((failure != null || isCancelled()) && inFlight == 0));
+                if (done) {
+                    completed = true;
+                }
+            }
+            if (done) {
+                complete();
+            } else {
+                fill();
+            }
+        }
+
+        private void complete() {
+            if (handle != null) {
+                handle.removeControlListener(refill);
+            }
+            if (failure != null) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            ChangeSet merged = new ChangeSet(world);
+            for (ChangeSet chunkResult : chunkResults) {
+                if (chunkResult != null) {
+                    merged.addAll(chunkResult);
+                }
+            }
+            if (isCancelled()) {
+                result.completeExceptionally(new OperationCancelledException(merged));
+            } else {
+                result.complete(merged);
+            }
+        }
+
+        private boolean isCancelled() {
+            return handle != null && handle.isCancelRequested();
+        }
+
+        private boolean isPaused() {
+            return handle != null && handle.isPaused();
+        }
+
+        /**
+         * Resends a chunk once its work is over, on its owning region thread, if clients have not
+         * seen its changes yet: it was written with deferred updates and something in it changed,
+         * or it holds recorded biome changes, which clients only learn of with the chunk. Chunks
+         * are only handed to one unit per dispatch, so each dirty chunk is refreshed exactly once.
+         */
+        private void refreshIfDirty(int index) {
+            ChangeSet chunkResult = chunkResults[index];
+            if (chunkResult == null) {
+                return; // Never started.
+            }
+            ChunkPos chunk = chunks.get(index);
+            if (deferUpdates && (unrecorded || !chunkResult.isEmpty())) {
+                SectionFlusher flusher = ExtentWriter.getSectionFlusher(); // Relights as well.
+                Bukkit.getRegionScheduler().execute(core, world, chunk.x(), chunk.z(), () -> flusher.refreshChunk(world, chunk.x(), chunk.z()));
+            } else if (chunkResult.getBiomeChangeCount() > 0) {
+                Bukkit.getRegionScheduler().execute(core, world, chunk.x(), chunk.z(), () -> {
+                    if (world.isChunkLoaded(chunk.x(), chunk.z())) {
+                        world.refreshChunk(chunk.x(), chunk.z());
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Publishes a chunk unit's processed and changed block counts after each tick slice.
+     */
+    private static final class ProgressReportingUnit implements WorkUnit {
+        private final WorkUnit delegate;
+        private final ChangeSet chunkChanges;
+        private final OperationProgress progress;
+        private long reportedProcessed = 0;
+        private long reportedChanged = 0;
+
+        ProgressReportingUnit(WorkUnit delegate, ChangeSet chunkChanges, OperationProgress progress) {
+            this.delegate = delegate;
+            this.chunkChanges = chunkChanges;
+            this.progress = progress;
+        }
+
+        @Override
+        public boolean process(long deadlineNanos) throws Exception {
+            boolean done;
+            try {
+                done = delegate.process(deadlineNanos);
+            } finally {
+                report();
+            }
+            if (done) {
+                progress.chunkDone();
+            }
+            return done;
+        }
+
+        @Override
+        public long getBlocksProcessed() {
+            return delegate.getBlocksProcessed();
+        }
+
+        private void report() {
+            long processed = delegate.getBlocksProcessed();
+            long changed = chunkChanges.getSize() + chunkChanges.getBiomeChangeCount();
+            progress.addBlocksProcessed(processed - reportedProcessed);
+            progress.addBlocksChanged(changed - reportedChanged);
+            reportedProcessed = processed;
+            reportedChanged = changed;
+        }
+    }
+}
\ No newline at end of file
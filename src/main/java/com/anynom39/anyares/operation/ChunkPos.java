@@ -0,0 +1,30 @@
+package com.anynom39.anyares.operation;
+
+/**
+ * Immutable chunk coordinate pair (chunk X, chunk Z).
+ *
+ * @param x The chunk X coordinate (block X >> 4).
+ * @param z The chunk Z coordinate (block Z >> 4).
+ */
+public record ChunkPos(int x, int z) {
+
+    public static ChunkPos ofBlock(int blockX, int blockZ) {
+        return new ChunkPos(blockX >> 4, blockZ >> 4);
+    }
+
+    public int getMinBlockX() {
+        return x << 4;
+    }
+
+    public int getMinBlockZ() {
+        return z << 4;
+    }
+
+    public int getMaxBlockX() {
+        return (x << 4) + 15;
+    }
+
+    public int getMaxBlockZ() {
+        return (z << 4) + 15;
+    }
+}
\ No newline at end of file
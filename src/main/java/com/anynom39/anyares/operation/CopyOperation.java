@@ -9,13 +9,11 @@ import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
@@ -24,13 +22,11 @@ public class CopyOperation implements BlockOperation {
     private final Player player;
     private final Selection selection;
     private final ClipboardManager clipboardManager;
-    private final boolean forCutOperation;
 
-    public CopyOperation(@NotNull Player player, @NotNull Selection selection, @NotNull ClipboardManager clipboardManager, boolean forCutOperation) {
+    public CopyOperation(@NotNull Player player, @NotNull Selection selection, @NotNull ClipboardManager clipboardManager) {
         this.player = player;
         this.selection = selection;
         this.clipboardManager = clipboardManager;
-        this.forCutOperation = forCutOperation;
     }
 
     @Override
@@ -47,7 +43,7 @@ public class CopyOperation implements BlockOperation {
 
     @Override
     public String getOperationName() {
-        return (forCutOperation ? "Cut (" : "Copy (") + selection.getTypeName() + ")";
+        return "Copy (" + selection.getTypeName() + ")";
     }
 
     @Override
@@ -55,63 +51,60 @@ public class CopyOperation implements BlockOperation {
         return selection.getVolume();
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public CompletableFuture<ChangeSet> execute(@NotNull AnyARES_Core core) {
         CompletableFuture<ChangeSet> future = new CompletableFuture<>();
         World world = selection.getWorld();
 
-        Bukkit.getGlobalRegionScheduler().execute(core, () -> {
-            try {
-                Location minSelPoint = selection.getMinimumPoint();
-                Location maxSelPoint = selection.getMaximumPoint();
-
-
-                int width = maxSelPoint.getBlockX() - minSelPoint.getBlockX() + 1;
-                int height = maxSelPoint.getBlockY() - minSelPoint.getBlockY() + 1;
-                int length = maxSelPoint.getBlockZ() - minSelPoint.getBlockZ() + 1;
-
-                if (width <= 0 || height <= 0 || length <= 0) {
-                    throw new IllegalArgumentException("Selection has zero or negative dimension for copy.");
+        Location minSelPoint = selection.getMinimumPoint();
+        Location maxSelPoint = selection.getMaximumPoint();
+
+        int width = maxSelPoint.getBlockX() - minSelPoint.getBlockX() + 1;
+        int height = maxSelPoint.getBlockY() - minSelPoint.getBlockY() + 1;
+        int length = maxSelPoint.getBlockZ() - minSelPoint.getBlockZ() + 1;
+
+        if (width <= 0 || height <= 0 || length <= 0) {
+            future.completeExceptionally(new RuntimeException("Failed to copy selection: Selection has zero or negative dimension for copy."));
+            return future;
+        }
+
+        if (!ClipboardObject.fitsDimensions(width, height, length)) {
+            future.completeExceptionally(new RuntimeException("Failed to copy selection: Selection is too large for a clipboard."));
+            return future;
+        }
+
+        // Filled in place by the chunk readers; every chunk owns a disjoint set of indices.
+        BlockData[] copiedBlocks = new BlockData[width * height * length];
+        BlockData air = Bukkit.createBlockData(Material.AIR); // Shared by every air cell.
+
+        int minX = minSelPoint.getBlockX();
+        int minY = minSelPoint.getBlockY();
+        int minZ = minSelPoint.getBlockZ();
+
+        // Copying never writes, so every chunk is read from a snapshot on the worker pool, several at a time.
+        ChunkDispatcher.dispatchSnapshots(core, this, world, SelectionChunks.getChunks(selection), (chunkX, chunkZ, snapshot, chunkChanges) -> {
+            long blocksRead = SelectionChunks.forEachInChunk(selection, chunkX, chunkZ, (x, y, z) -> {
+                int index = ClipboardObject.index(x - minX, y - minY, z - minZ, width, length);
+                copiedBlocks[index] = snapshot.getBlockType(x & 15, y, z & 15) == Material.AIR ? air : snapshot.getBlockData(x & 15, y, z & 15);
+            });
+            return new ChunkDispatcher.SnapshotRead(blocksRead, null);
+        }).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                if (throwable instanceof OperationCancelledException) {
+                    future.completeExceptionally(throwable); // The clipboard is left as it was.
+                    return;
                 }
-
-                BlockData[][][] copiedBlocks = new BlockData[height][length][width];
-
-                Iterator<Block> blockIterator = selection.getBlockIterator();
-                while (blockIterator.hasNext()) {
-                    Block block = blockIterator.next();
-                    Location loc = block.getLocation();
-
-                    int relX = loc.getBlockX() - minSelPoint.getBlockX();
-                    int relY = loc.getBlockY() - minSelPoint.getBlockY();
-                    int relZ = loc.getBlockZ() - minSelPoint.getBlockZ();
-
-                    if (relY >= 0 && relY < height && relZ >= 0 && relZ < length && relX >= 0 && relX < width) {
-                        if (loc.getBlockY() < world.getMinHeight() || loc.getBlockY() >= world.getMaxHeight()) {
-                            copiedBlocks[relY][relZ][relX] = Bukkit.createBlockData(Material.AIR); // Treat out-of-bounds as air
-                        } else {
-                            copiedBlocks[relY][relZ][relX] = block.getBlockData().clone();
-                        }
-                    } else {
-                        core.getLogger().warning("CopyOperation: Block " + loc + " from iterator was outside calculated bounding box relative coords. MinSel: " + minSelPoint);
-                    }
-                }
-                for (int y = 0; y < height; ++y) {
-                    for (int z = 0; z < length; ++z) {
-                        for (int x = 0; x < width; ++x) {
-                            if (copiedBlocks[y][z][x] == null) {
-                                Location checkLoc = new Location(world, minSelPoint.getBlockX() + x, minSelPoint.getBlockY() + y, minSelPoint.getBlockZ() + z);
-                                if (selection.contains(checkLoc)) {
-                                    core.getLogger().warning("CopyOperation: Bounding box cell [" + y + "][" + z + "][" + x + "] was null but selection.contains() is true. Filling with AIR.");
-                                    copiedBlocks[y][z][x] = Bukkit.createBlockData(Material.AIR);
-                                } else {
-                                    copiedBlocks[y][z][x] = Bukkit.createBlockData(Material.AIR);
-                                }
-                            }
-                        }
-                    }
-                }
-
-
+                core.getLogger().log(Level.SEVERE, "Error during " + getOperationName() + " execution: ", throwable);
+                future.completeExceptionally(new RuntimeException("Failed to copy selection: " + throwable.getMessage(), throwable));
+                return;
+            }
+            try {
+                // Cells outside the selection shape or the world's height stay null and are never pasted.
                 Vector playerLocationVec = player.getLocation().toVector();
                 Vector selectionMinVec = minSelPoint.toVector();
                 Vector relativeOrigin = playerLocationVec.subtract(selectionMinVec);
@@ -0,0 +1,158 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.clipboard.ClipboardObject;
+import com.anynom39.anyares.history.ChangeSet;
+import com.anynom39.anyares.manager.ClipboardManager;
+import com.anynom39.anyares.selection.Selection;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Copies a selection to the player's clipboard and clears it to air in a single pass.
+ * <p>
+ * Every block is captured and cleared in the same visit, so no other edit can slip in
+ * between the copy and the clear, and the resulting ChangeSet covers the whole cut. The
+ * clipboard is only replaced once the cut completed; a cancelled cut leaves the clipboard
+ * untouched and records the blocks it already cleared for undo.
+ */
+public class CutOperation implements BlockOperation {
+
+    private final Player player;
+    private final Selection selection;
+    private final ClipboardManager clipboardManager;
+
+    public CutOperation(@NotNull Player player, @NotNull Selection selection, @NotNull ClipboardManager clipboardManager) {
+        this.player = Objects.requireNonNull(player, "Player cannot be null");
+        this.selection = Objects.requireNonNull(selection, "Selection cannot be null");
+        this.clipboardManager = Objects.requireNonNull(clipboardManager, "ClipboardManager cannot be null");
+    }
+
+    @Override
+    @NotNull
+    public Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    @NotNull
+    public Selection getSelection() {
+        return selection;
+    }
+
+    @Override
+    public String getOperationName() {
+        return "Cut (" + selection.getTypeName() + ")";
+    }
+
+    @Override
+    public long getEstimatedBlocks() {
+        return selection.getVolume();
+    }
+
+    @Override
+    public CompletableFuture<ChangeSet> execute(@NotNull AnyARES_Core core) {
+        CompletableFuture<ChangeSet> future = new CompletableFuture<>();
+        World world = selection.getWorld();
+
+        Location minSelPoint = selection.getMinimumPoint();
+        Location maxSelPoint = selection.getMaximumPoint();
+
+        int width = maxSelPoint.getBlockX() - minSelPoint.getBlockX() + 1;
+        int height = maxSelPoint.getBlockY() - minSelPoint.getBlockY() + 1;
+        int length = maxSelPoint.getBlockZ() - minSelPoint.getBlockZ() + 1;
+
+        if (width <= 0 || height <= 0 || length <= 0) {
+            future.completeExceptionally(new RuntimeException("Failed to cut selection: Selection has zero or negative dimension."));
+            return future;
+        }
+
+        if (!ClipboardObject.fitsDimensions(width, height, length)) {
+            future.completeExceptionally(new RuntimeException("Failed to cut selection: Selection is too large for a clipboard."));
+            return future;
+        }
+
+        BlockData[] copiedBlocks = new BlockData[width * height * length];
+        BlockData air = Bukkit.createBlockData(Material.AIR); // Shared by every air cell.
+        int minX = minSelPoint.getBlockX();
+        int minY = minSelPoint.getBlockY();
+        int minZ = minSelPoint.getBlockZ();
+
+        boolean deferUpdates = ChunkDispatcher.defersUpdates(core, this);
+        ChunkDispatcher.dispatch(core, this, world, SelectionChunks.getChunks(selection), (chunkX, chunkZ, chunkChanges) -> new WorkUnit() {
+            private SelectionChunks.ChunkCursor cursor;
+            private final ExtentWriter writer = new ExtentWriter(world, chunkX, chunkZ, chunkChanges).withDeferredUpdates(deferUpdates);
+            private long processed = 0;
+
+            @Override
+            public boolean process(long deadlineNanos) {
+                if (cursor == null) {
+                    cursor = SelectionChunks.cursor(selection, chunkX, chunkZ);
+                }
+                Chunk chunk = world.getChunkAt(chunkX, chunkZ); // Loaded and ticketed by the dispatcher.
+                int sinceCheck = 0;
+                while (true) {
+                    if (++sinceCheck >= DEADLINE_CHECK_INTERVAL) {
+                        sinceCheck = 0;
+                        if (System.nanoTime() >= deadlineNanos) {
+                            return false;
+                        }
+                    }
+                    if (!cursor.next()) {
+                        break;
+                    }
+                    processed++;
+                    int x = cursor.x(), y = cursor.y(), z = cursor.z();
+                    int index = ClipboardObject.index(x - minX, y - minY, z - minZ, width, length);
+                    BlockData current = chunk.getBlock(x & 15, y, z & 15).getBlockData();
+                    if (current.getMaterial().isAir()) {
+                        copiedBlocks[index] = air;
+                        continue;
+                    }
+                    copiedBlocks[index] = current;
+                    // The writer records the old state when it flushes the section.
+                    writer.setBlock(x, y, z, air);
+                }
+                writer.flush();
+                return true;
+            }
+
+            @Override
+            public long getBlocksProcessed() {
+                return processed;
+            }
+        }).whenComplete((changeSet, throwable) -> {
+            if (throwable != null) {
+                if (throwable instanceof OperationCancelledException) {
+                    future.completeExceptionally(throwable); // Carries the partial changes for undo; the clipboard is left as it was.
+                    return;
+                }
+                core.getLogger().log(Level.SEVERE, "Error during " + getOperationName() + " execution: ", throwable);
+                future.completeExceptionally(new RuntimeException("Failed to cut selection: " + throwable.getMessage(), throwable));
+                return;
+            }
+            try {
+                // Cells outside the selection shape or the world's height stay null and are never pasted.
+                Vector relativeOrigin = player.getLocation().toVector().subtract(minSelPoint.toVector());
+                ClipboardObject clipboard = new ClipboardObject(copiedBlocks, new Vector(width, height, length), relativeOrigin, world);
+                clipboardManager.setPlayerClipboard(player, clipboard);
+                future.complete(changeSet);
+            } catch (Exception e) {
+                core.getLogger().log(Level.SEVERE, "Error during " + getOperationName() + " execution: ", e);
+                future.completeExceptionally(new RuntimeException("Failed to cut selection: " + e.getMessage(), e));
+            }
+        });
+        return future;
+    }
+}
\ No newline at end of file
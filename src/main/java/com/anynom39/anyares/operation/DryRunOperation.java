@@ -0,0 +1,170 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.history.ChangeSet;
+import com.anynom39.anyares.selection.Selection;
+import com.anynom39.anyares.util.MessageUtil;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Previews another operation without writing anything. Every affected chunk is read as a
+ * snapshot and counted on the worker pool; the report gives the blocks that would change, the
+ * chunks involved, the projected history memory and the projected run time at the engine's
+ * recent rate, so an oversized edit can be turned down before it starts.
+ * <p>
+ * The preview is read-only, so it only waits for chunks that are being written, and it
+ * samples patterns with the target's seed: the report ends with that seed, and re-running the
+ * target with {@code -s <seed>} changes the counted blocks, provided the world did not change
+ * in between.
+ */
+public class DryRunOperation implements BlockOperation {
+
+    /**
+     * @param blocksRead              Blocks the real run would visit.
+     * @param blocksChanged           Blocks that would end up different.
+     * @param chunks                  Chunk columns the real run would lock.
+     * @param chunksChanged           Chunk columns with at least one change.
+     * @param projectedChangeSetBytes Heap the resulting ChangeSet would take, see {@link ChangeSet#ESTIMATED_BYTES_PER_CHANGE}.
+     * @param projectedMillis         Run time at the engine's recent rate, or -1 if no edit has finished yet.
+     */
+    public record DryRunReport(long blocksRead, long blocksChanged, int chunks, int chunksChanged,
+                               long projectedChangeSetBytes, long projectedMillis) {
+    }
+
+    private final DryRunnable target;
+    private volatile DryRunReport report;
+
+    public DryRunOperation(@NotNull DryRunnable target) {
+        this.target = Objects.requireNonNull(target, "Target operation cannot be null");
+    }
+
+    @Override
+    @Nullable
+    public Player getPlayer() {
+        return target.getPlayer();
+    }
+
+    @Override
+    @NotNull
+    public Selection getSelection() {
+        return target.getSelection();
+    }
+
+    @Override
+    @NotNull
+    public List<ChunkPos> getAffectedChunks() {
+        return target.getAffectedChunks();
+    }
+
+    @Override
+    public String getOperationName() {
+        return "Dry run of " + target.getOperationName();
+    }
+
+    @Override
+    public long getEstimatedBlocks() {
+        return target.getEstimatedBlocks();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    @Nullable
+    public Long getRandomSeed() {
+        return target.getRandomSeed();
+    }
+
+    /**
+     * @return The report once the preview completed, otherwise null.
+     */
+    @Nullable
+    public DryRunReport getReport() {
+        return report;
+    }
+
+    @Override
+    public CompletableFuture<ChangeSet> execute(@NotNull AnyARES_Core core) {
+        CompletableFuture<ChangeSet> future = new CompletableFuture<>();
+        World world = target.getSelection().getWorld();
+        List<ChunkPos> chunks = target.getAffectedChunks();
+        LongAdder blocksRead = new LongAdder();
+        LongAdder blocksChanged = new LongAdder();
+        AtomicInteger chunksChanged = new AtomicInteger();
+
+        ChunkDispatcher.dispatchSnapshots(core, this, world, chunks, (chunkX, chunkZ, snapshot, chunkChanges) -> {
+            DryRunnable.ChunkEstimate estimate = target.estimateChunk(chunkX, chunkZ, snapshot);
+            blocksRead.add(estimate.blocksRead());
+            blocksChanged.add(estimate.blocksChanged());
+            if (estimate.blocksChanged() > 0) {
+                chunksChanged.incrementAndGet();
+            }
+            return new ChunkDispatcher.SnapshotRead(estimate.blocksRead(), null); // Never writes.
+        }).whenComplete((changeSet, throwable) -> {
+            if (throwable != null) {
+                if (throwable instanceof OperationCancelledException) {
+                    future.completeExceptionally(throwable);
+                    return;
+                }
+                core.getLogger().log(Level.SEVERE, "Error during " + getOperationName() + " execution: ", throwable);
+                future.completeExceptionally(new RuntimeException("Failed to estimate operation: " + throwable.getMessage(), throwable));
+                return;
+            }
+            double rate = core.getTaskEngine().getRecentBlocksPerSecond();
+            long read = blocksRead.sum();
+            long changed = blocksChanged.sum();
+            report = new DryRunReport(read, changed, chunks.size(), chunksChanged.get(),
+                    changed * ChangeSet.ESTIMATED_BYTES_PER_CHANGE, rate > 0 ? (long) (read * 1000.0 / rate) : -1);
+            sendReport(core, report);
+            future.complete(changeSet); // Empty: nothing was written.
+        });
+        return future;
+    }
+
+    private void sendReport(AnyARES_Core core, DryRunReport report) {
+        String changed = String.format("%,d", report.blocksChanged());
+        String read = String.format("%,d", report.blocksRead());
+        String memory = formatBytes(report.projectedChangeSetBytes());
+        String time = report.projectedMillis() >= 0 ? "~" + formatDuration(report.projectedMillis()) : "unknown until an edit has finished";
+        Long seed = getRandomSeed(); // Without it a random pattern would pick different blocks on the real run.
+        Player player = getPlayer();
+        if (player == null) {
+            core.getLogger().info(getOperationName() + ": " + changed + " of " + read + " blocks would change in " + report.chunksChanged()
+                    + "/" + report.chunks() + " chunks. History: ~" + memory + ", time: " + time + ". Nothing was written."
+                    + (seed != null ? " Re-run with -s " + seed + " to apply this preview." : ""));
+        } else if (player.isOnline()) {
+            MessageUtil.sendMessage(player, "&b" + getOperationName() + "&7: &f" + changed + "&7 of &f" + read + "&7 blocks would change in &f"
+                    + report.chunksChanged() + "&7/&f" + report.chunks() + "&7 chunks.");
+            MessageUtil.sendMessage(player, "&7History: &f~" + memory + "&7, time: &f" + time + "&7. Nothing was written.");
+            if (seed != null) {
+                MessageUtil.sendMessage(player, "&7Re-run with &f-s " + seed + "&7 to apply exactly this preview.");
+            }
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes >= 1024L * 1024 * 1024) return String.format("%.1f GiB", bytes / (1024.0 * 1024 * 1024));
+        if (bytes >= 1024L * 1024) return String.format("%.1f MiB", bytes / (1024.0 * 1024));
+        if (bytes >= 1024L) return String.format("%.1f KiB", bytes / 1024.0);
+        return bytes + " B";
+    }
+
+    private static String formatDuration(long millis) {
+        long seconds = millis / 1000;
+        if (seconds >= 3600) return String.format("%dh %02dm", seconds / 3600, (seconds % 3600) / 60);
+        if (seconds >= 60) return String.format("%dm %02ds", seconds / 60, seconds % 60);
+        return millis < 1000 ? millis + "ms" : seconds + "s";
+    }
+}
\ No newline at end of file
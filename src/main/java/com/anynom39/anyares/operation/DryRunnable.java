@@ -0,0 +1,26 @@
+package com.anynom39.anyares.operation;
+
+import org.bukkit.ChunkSnapshot;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An operation that can work out from chunk snapshots alone how many blocks it would change,
+ * so it can be previewed with {@link DryRunOperation} (the {@code -n} flag) before it runs.
+ */
+public interface DryRunnable extends BlockOperation {
+
+    /**
+     * Counts what the operation would do to one chunk column, judging by its snapshot. Runs on
+     * a worker thread and must not touch the world. Pattern sampling must use the same stream
+     * as the real run, so that a seeded run changes exactly the counted blocks.
+     */
+    @NotNull
+    ChunkEstimate estimateChunk(int chunkX, int chunkZ, @NotNull ChunkSnapshot snapshot);
+
+    /**
+     * @param blocksRead    How many blocks the real run would visit, for the time projection.
+     * @param blocksChanged How many of them would end up different.
+     */
+    record ChunkEstimate(long blocksRead, long blocksChanged) {
+    }
+}
\ No newline at end of file
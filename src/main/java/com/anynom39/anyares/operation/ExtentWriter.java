@@ -0,0 +1,138 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.history.ChangeSet;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Buffers block writes for one chunk column and hands them to the active
+ * {@link SectionFlusher} one 16x16x16 section at a time.
+ * <p>
+ * Writes are collected until a write targets a different section, or until {@link #flush()}
+ * is called, so callers that visit blocks section by section (the y -> z -> x order used by
+ * {@link SelectionChunks}) flush every section exactly once. Within a section the last write
+ * to a block wins. A writer belongs to one work unit and is only used on the chunk's owning
+ * thread; writes still buffered when a unit is abandoned are simply never applied.
+ */
+public final class ExtentWriter {
+
+    static final int SECTION_VOLUME = 16 * 16 * 16;
+    private static volatile SectionFlusher sectionFlusher = new BukkitSectionFlusher();
+
+    private final World world;
+    private final int chunkX;
+    private final int chunkZ;
+    private final ChangeSet changes;
+    private Predicate<BlockData> liveFilter;
+    private boolean deferUpdates = false;
+
+    private final BlockData[] buffer = new BlockData[SECTION_VOLUME];
+    private int bufferedSectionY = Integer.MIN_VALUE;
+    private int bufferedCount = 0;
+    private long blocksChanged = 0;
+
+    /**
+     * @param changes Where flushed changes are recorded, or null to write without recording.
+     */
+    public ExtentWriter(@NotNull World world, int chunkX, int chunkZ, @Nullable ChangeSet changes) {
+        this.world = Objects.requireNonNull(world, "World cannot be null");
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.changes = changes;
+    }
+
+    /**
+     * Only writes blocks whose current data passes the filter, checked at flush time.
+     */
+    @NotNull
+    public ExtentWriter withLiveFilter(@Nullable Predicate<BlockData> liveFilter) {
+        this.liveFilter = liveFilter;
+        return this;
+    }
+
+    /**
+     * Writes without per-block lighting and client updates, if the active flusher supports it.
+     * Whoever dispatched the edit must then refresh the changed chunks once it finished
+     * ({@link ChunkDispatcher} does this for deferred dispatches).
+     */
+    @NotNull
+    public ExtentWriter withDeferredUpdates(boolean deferUpdates) {
+        this.deferUpdates = deferUpdates;
+        return this;
+    }
+
+    /**
+     * Queues a write. The block must lie in this writer's chunk column.
+     */
+    public void setBlock(int x, int y, int z, @NotNull BlockData blockData) {
+        int sectionY = y >> 4;
+        if (sectionY != bufferedSectionY) {
+            flush();
+            bufferedSectionY = sectionY;
+        }
+        int index = sectionIndex(x, y, z);
+        if (buffer[index] == null) {
+            bufferedCount++;
+        }
+        buffer[index] = blockData;
+    }
+
+    /**
+     * Sets a whole section of this chunk column to one block, e.g. where a cuboid covers it
+     * completely. Anything still buffered is flushed first, so the write order is kept.
+     */
+    public void fillSection(int sectionY, @NotNull BlockData blockData) {
+        flush();
+        SectionFlusher flusher = sectionFlusher;
+        blocksChanged += flusher.fillSection(world, chunkX, chunkZ, sectionY, blockData, liveFilter, changes,
+                deferUpdates && flusher.supportsDeferredUpdates());
+    }
+
+    /**
+     * Writes the buffered section, if any.
+     */
+    public void flush() {
+        if (bufferedCount == 0) {
+            return;
+        }
+        SectionFlusher flusher = sectionFlusher;
+        blocksChanged += flusher.flushSection(world, chunkX, chunkZ, bufferedSectionY, buffer, liveFilter, changes,
+                deferUpdates && flusher.supportsDeferredUpdates());
+        Arrays.fill(buffer, null);
+        bufferedCount = 0;
+    }
+
+    /**
+     * @return How many blocks flushed so far actually changed.
+     */
+    public long getBlocksChanged() {
+        return blocksChanged;
+    }
+
+    /**
+     * Index of a block inside its section's 4096-entry buffer: y, then z, then x.
+     */
+    public static int sectionIndex(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    /**
+     * Installs the flusher used by all writers, e.g. one working on server internals.
+     *
+     * @param flusher The flusher, or null to restore the portable Bukkit implementation.
+     */
+    public static void setSectionFlusher(@Nullable SectionFlusher flusher) {
+        sectionFlusher = flusher != null ? flusher : new BukkitSectionFlusher();
+    }
+
+    @NotNull
+    public static SectionFlusher getSectionFlusher() {
+        return sectionFlusher;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.selection.Selection;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Finds the ground of a column: its highest selected block that blocks movement. The scan
+ * starts at the snapshot's MOTION_BLOCKING heightmap rather than at the top of the selection,
+ * so the air above the terrain is never read. Immutable and shared between threads.
+ */
+final class GroundScanner {
+
+    /**
+     * Returned for columns without a selected solid block.
+     */
+    static final int NO_GROUND = Integer.MIN_VALUE;
+
+    private final Selection selection;
+    private final int minY, maxY;
+
+    GroundScanner(@NotNull Selection selection) {
+        this.selection = selection;
+        World world = selection.getWorld();
+        Location bbMin = selection.getMinimumPoint();
+        Location bbMax = selection.getMaximumPoint();
+        this.minY = Math.max(bbMin.getBlockY(), world.getMinHeight());
+        this.maxY = Math.min(bbMax.getBlockY(), world.getMaxHeight() - 1);
+    }
+
+    /**
+     * @param snapshot The snapshot of the chunk holding the column, taken with its heightmap.
+     * @return The ground's y, or {@link #NO_GROUND}.
+     */
+    int groundY(@NotNull ChunkSnapshot snapshot, int x, int z) {
+        int localX = x & 15, localZ = z & 15;
+        for (int y = Math.min(maxY, snapshot.getHighestBlockYAt(localX, localZ)); y >= minY; y--) {
+            if (snapshot.getBlockType(localX, y, localZ).isSolid() && selection.contains(x, y, z)) {
+                return y;
+            }
+        }
+        return NO_GROUND;
+    }
+
+    /**
+     * @return The lowest y a column of the selection reaches, clamped to the world.
+     */
+    int getMinY() {
+        return minY;
+    }
+
+    /**
+     * @return The highest y a column of the selection reaches, clamped to the world.
+     */
+    int getMaxY() {
+        return maxY;
+    }
+}
\ No newline at end of file
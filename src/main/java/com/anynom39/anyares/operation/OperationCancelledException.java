@@ -0,0 +1,44 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.history.ChangeSet;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Completes an operation's future when the operation was cancelled through its
+ * {@link com.anynom39.anyares.manager.OperationHandle}. Carries the changes made before the
+ * cancellation took effect, so they can still be recorded for undo.
+ */
+public class OperationCancelledException extends CancellationException {
+
+    private final transient ChangeSet partialChanges;
+
+    public OperationCancelledException(@Nullable ChangeSet partialChanges) {
+        super("Operation was cancelled");
+        this.partialChanges = partialChanges;
+    }
+
+    /**
+     * @return The blocks changed before the operation stopped, or null if it never touched the world.
+     */
+    @Nullable
+    public ChangeSet getPartialChanges() {
+        return partialChanges;
+    }
+
+    /**
+     * Finds a cancellation in a throwable's cause chain, e.g. behind a {@link java.util.concurrent.CompletionException}.
+     */
+    @Nullable
+    public static OperationCancelledException find(@Nullable Throwable throwable) {
+        Throwable current = throwable;
+        while (current != null) {
+            if (current instanceof OperationCancelledException cancelled) {
+                return cancelled;
+            }
+            current = current.getCause();
+        }
+        return null;
+    }
+}
\ No newline at end of file
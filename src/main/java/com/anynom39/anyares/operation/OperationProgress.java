@@ -0,0 +1,110 @@
+package com.anynom39.anyares.operation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters of a running {@link BlockOperation}, obtained through
+ * {@link com.anynom39.anyares.manager.TaskEngine#getProgress(BlockOperation)}.
+ * <p>
+ * The counters are updated by the {@link ChunkDispatcher} after every tick slice, from
+ * whichever region threads the operation runs on, and may be read from any thread.
+ */
+public class OperationProgress {
+
+    private final long estimatedBlocks;
+    private final LongAdder blocksProcessed = new LongAdder();
+    private final LongAdder blocksChanged = new LongAdder();
+    private final LongAdder chunksDone = new LongAdder();
+    private final LongAdder totalChunks = new LongAdder();
+    private final AtomicLong startNanos = new AtomicLong(0);
+
+    public OperationProgress(long estimatedBlocks) {
+        this.estimatedBlocks = Math.max(0, estimatedBlocks);
+    }
+
+    /**
+     * Marks the moment the operation started running. Later calls are ignored.
+     */
+    public void markStarted() {
+        startNanos.compareAndSet(0, System.nanoTime());
+    }
+
+    public void addTotalChunks(int chunks) {
+        totalChunks.add(chunks);
+    }
+
+    public void addBlocksProcessed(long blocks) {
+        blocksProcessed.add(blocks);
+    }
+
+    public void addBlocksChanged(long blocks) {
+        blocksChanged.add(blocks);
+    }
+
+    public void chunkDone() {
+        chunksDone.increment();
+    }
+
+    /**
+     * @return How many blocks the operation is expected to visit, or 0 if unknown.
+     */
+    public long getEstimatedBlocks() {
+        return estimatedBlocks;
+    }
+
+    public long getBlocksProcessed() {
+        return blocksProcessed.sum();
+    }
+
+    public long getBlocksChanged() {
+        return blocksChanged.sum();
+    }
+
+    public long getChunksDone() {
+        return chunksDone.sum();
+    }
+
+    public long getTotalChunks() {
+        return totalChunks.sum();
+    }
+
+    /**
+     * @return Milliseconds since the operation started, or 0 while it is still queued.
+     */
+    public long getElapsedMillis() {
+        long start = startNanos.get();
+        return start == 0 ? 0 : (System.nanoTime() - start) / 1_000_000L;
+    }
+
+    /**
+     * @return Average blocks processed per second since the start.
+     */
+    public double getBlocksPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed <= 0 ? 0 : getBlocksProcessed() * 1000.0 / elapsed;
+    }
+
+    /**
+     * @return Completed fraction between 0 and 1, by blocks if the estimate is known, otherwise by chunks.
+     */
+    public double getFraction() {
+        if (estimatedBlocks > 0) {
+            return Math.min(1.0, (double) getBlocksProcessed() / estimatedBlocks);
+        }
+        long total = getTotalChunks();
+        return total > 0 ? Math.min(1.0, (double) getChunksDone() / total) : 0;
+    }
+
+    /**
+     * @return Estimated milliseconds until completion at the current rate, or -1 if it cannot be estimated yet.
+     */
+    public long getEtaMillis() {
+        double rate = getBlocksPerSecond();
+        if (estimatedBlocks <= 0 || rate <= 0) {
+            return -1;
+        }
+        long remaining = Math.max(0, estimatedBlocks - getBlocksProcessed());
+        return (long) (remaining * 1000.0 / rate);
+    }
+}
\ No newline at end of file
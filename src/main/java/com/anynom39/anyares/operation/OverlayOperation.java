@@ -0,0 +1,178 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.history.ChangeSet;
+import com.anynom39.anyares.selection.Selection;
+import com.anynom39.anyares.util.BlockPatternParser;
+import com.anynom39.anyares.util.BlockPatternParser.WeightedBlockData;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Places a pattern on top of the ground of every column of the selection (see
+ * {@link GroundScanner}). Each column costs a short scan down from the heightmap and at most
+ * one write, instead of a pass over the selection's volume.
+ */
+public class OverlayOperation implements DryRunnable {
+
+    private record PendingWrite(int x, int y, int z, BlockData target) {
+    }
+
+    private final Player player;
+    private final Selection selection;
+    private final List<WeightedBlockData> patternList;
+    private final String operationName;
+    private final PatternRandom random;
+    private final GroundScanner ground;
+    private final int minX, minZ, maxX, maxZ;
+
+    /**
+     * @param seed Seed for sampling the pattern, or null for a random one.
+     */
+    public OverlayOperation(@Nullable Player player, @NotNull Selection selection,
+                            @NotNull List<WeightedBlockData> patternList, @NotNull String rawPatternString, @Nullable Long seed) {
+        this.player = player;
+        this.selection = Objects.requireNonNull(selection, "Selection cannot be null");
+        this.patternList = Objects.requireNonNull(patternList, "Pattern list cannot be null");
+        if (patternList.isEmpty()) {
+            throw new IllegalArgumentException("Pattern list cannot be empty for OverlayOperation.");
+        }
+        this.operationName = "Overlay " + selection.getTypeName() + " with "
+                + (rawPatternString.length() > 20 ? rawPatternString.substring(0, 17) + "..." : rawPatternString);
+        this.random = PatternRandom.create(seed);
+        this.ground = new GroundScanner(selection);
+        Location bbMin = selection.getMinimumPoint();
+        Location bbMax = selection.getMaximumPoint();
+        this.minX = bbMin.getBlockX();
+        this.minZ = bbMin.getBlockZ();
+        this.maxX = bbMax.getBlockX();
+        this.maxZ = bbMax.getBlockZ();
+    }
+
+    @Override
+    @Nullable
+    public Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    @NotNull
+    public Selection getSelection() {
+        return selection;
+    }
+
+    @Override
+    public String getOperationName() {
+        return operationName;
+    }
+
+    /**
+     * One block per column of the bounding box.
+     */
+    @Override
+    public long getEstimatedBlocks() {
+        return (long) (maxX - minX + 1) * (maxZ - minZ + 1);
+    }
+
+    @Override
+    @Nullable
+    public Long getRandomSeed() {
+        return patternList.size() > 1 ? random.getSeed() : null;
+    }
+
+    @Override
+    public CompletableFuture<ChangeSet> execute(@NotNull AnyARES_Core core) {
+        CompletableFuture<ChangeSet> future = new CompletableFuture<>();
+        World world = selection.getWorld();
+        boolean deferUpdates = ChunkDispatcher.defersUpdates(core, this);
+
+        // Grounds are found in a snapshot on the worker pool; only the placements are written on the owning thread.
+        ChunkDispatcher.dispatchSnapshots(core, this, world, SelectionChunks.getChunks(selection), (chunkX, chunkZ, snapshot, chunkChanges) -> {
+            List<PendingWrite> pending = new ArrayList<>();
+            long columns = scanChunk(chunkX, chunkZ, snapshot, pending);
+            return new ChunkDispatcher.SnapshotRead(columns, pending.isEmpty() ? null : writePending(world, chunkX, chunkZ, pending, chunkChanges, deferUpdates));
+        }).whenComplete((changeSet, throwable) -> {
+            if (throwable != null) {
+                if (throwable instanceof OperationCancelledException) {
+                    future.completeExceptionally(throwable); // Carries the partial changes for undo.
+                    return;
+                }
+                core.getLogger().log(Level.SEVERE, "Error during OverlayOperation (" + getOperationName() + ") execution: ", throwable);
+                future.completeExceptionally(new RuntimeException("Failed to overlay selection: " + throwable.getMessage(), throwable));
+            } else {
+                future.complete(changeSet);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    @NotNull
+    public ChunkEstimate estimateChunk(int chunkX, int chunkZ, @NotNull ChunkSnapshot snapshot) {
+        List<PendingWrite> pending = new ArrayList<>();
+        long columns = scanChunk(chunkX, chunkZ, snapshot, pending);
+        long changed = pending.stream()
+                .filter(write -> !snapshot.getBlockData(write.x() & 15, write.y(), write.z() & 15).matches(write.target()))
+                .count();
+        return new ChunkEstimate(columns, changed);
+    }
+
+    /**
+     * Collects one placement per column of the chunk that has ground below the world's top, in z -> x order.
+     *
+     * @return How many columns were scanned.
+     */
+    private long scanChunk(int chunkX, int chunkZ, ChunkSnapshot snapshot, List<PendingWrite> pending) {
+        int worldMaxY = selection.getWorld().getMaxHeight() - 1;
+        SplittableRandom chunkRandom = random.forChunk(chunkX, chunkZ);
+        long columns = 0;
+        for (int z = Math.max(minZ, chunkZ << 4); z <= Math.min(maxZ, (chunkZ << 4) + 15); z++) {
+            for (int x = Math.max(minX, chunkX << 4); x <= Math.min(maxX, (chunkX << 4) + 15); x++) {
+                columns++;
+                int groundY = ground.groundY(snapshot, x, z);
+                if (groundY == GroundScanner.NO_GROUND || groundY >= worldMaxY) continue;
+                BlockData targetBlockData = BlockPatternParser.selectRandomBlockData(patternList, chunkRandom);
+                if (targetBlockData != null) {
+                    pending.add(new PendingWrite(x, groundY + 1, z, targetBlockData));
+                }
+            }
+        }
+        return columns;
+    }
+
+    private WorkUnit writePending(World world, int chunkX, int chunkZ, List<PendingWrite> pending, ChangeSet chunkChanges, boolean deferUpdates) {
+        ExtentWriter writer = new ExtentWriter(world, chunkX, chunkZ, chunkChanges).withDeferredUpdates(deferUpdates);
+        return new WorkUnit() {
+            private int next = 0;
+
+            @Override
+            public boolean process(long deadlineNanos) {
+                int sinceCheck = 0;
+                while (next < pending.size()) {
+                    if (++sinceCheck >= DEADLINE_CHECK_INTERVAL) {
+                        sinceCheck = 0;
+                        if (System.nanoTime() >= deadlineNanos) {
+                            return false;
+                        }
+                    }
+                    PendingWrite write = pending.get(next++);
+                    writer.setBlock(write.x(), write.y(), write.z(), write.target());
+                }
+                writer.flush();
+                return true;
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -5,10 +5,9 @@ import com.anynom39.anyares.clipboard.ClipboardObject;
 import com.anynom39.anyares.history.ChangeSet;
 import com.anynom39.anyares.selection.CuboidSelection;
 import com.anynom39.anyares.selection.Selection;
-import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.bukkit.util.Vector;
@@ -18,7 +17,7 @@ import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
-public class PasteOperation implements BlockOperation {
+public class PasteOperation implements DryRunnable {
 
     private final Player player;
     private final ClipboardObject clipboard;
@@ -65,6 +64,45 @@ public class PasteOperation implements BlockOperation {
         return clipboard.getVolume();
     }
 
+    @Override
+    @NotNull
+    public ChunkEstimate estimateChunk(int chunkX, int chunkZ, @NotNull ChunkSnapshot snapshot) {
+        World targetWorld = contextualSelection.getWorld();
+        Location pasteStartLocation = pasteOriginPlayerLocation.clone().subtract(clipboard.getRelativeOrigin());
+        int startX = pasteStartLocation.getBlockX();
+        int startY = pasteStartLocation.getBlockY();
+        int startZ = pasteStartLocation.getBlockZ();
+        int minRelX = Math.max(0, (chunkX << 4) - startX);
+        int maxRelX = Math.min(clipboard.getWidth() - 1, (chunkX << 4) + 15 - startX);
+        int minRelY = Math.max(0, targetWorld.getMinHeight() - startY);
+        int maxRelY = Math.min(clipboard.getHeight() - 1, targetWorld.getMaxHeight() - 1 - startY);
+        int minRelZ = Math.max(0, (chunkZ << 4) - startZ);
+        int maxRelZ = Math.min(clipboard.getLength() - 1, (chunkZ << 4) + 15 - startZ);
+
+        long blocksRead = 0;
+        long changed = 0;
+        for (int y = minRelY; y <= maxRelY; y++) {
+            for (int z = minRelZ; z <= maxRelZ; z++) {
+                for (int x = minRelX; x <= maxRelX; x++) {
+                    if (!pasteAir && (x == minRelX || (x & 15) == 0) && clipboard.isAirSection(x >> 4, y >> 4, z >> 4)) {
+                        int skipTo = Math.min(maxRelX, x | 15);
+                        blocksRead += skipTo - x + 1;
+                        x = skipTo;
+                        continue;
+                    }
+                    blocksRead++;
+                    BlockData clipboardBlockData = clipboard.getBlockData(x, y, z);
+                    if (clipboardBlockData == null || (!pasteAir && clipboardBlockData.getMaterial().isAir())) continue;
+
+                    if (!snapshot.getBlockData((startX + x) & 15, startY + y, (startZ + z) & 15).matches(clipboardBlockData)) {
+                        changed++;
+                    }
+                }
+            }
+        }
+        return new ChunkEstimate(blocksRead, changed);
+    }
+
     @Override
     public CompletableFuture<ChangeSet> execute(@NotNull AnyARES_Core core) {
         CompletableFuture<ChangeSet> future = new CompletableFuture<>();
@@ -73,39 +111,86 @@ public class PasteOperation implements BlockOperation {
             future.completeExceptionally(new IllegalStateException("Paste target world is null!"));
             return future;
         }
-        ChangeSet changeSet = new ChangeSet(targetWorld);
         Location pasteStartLocation = pasteOriginPlayerLocation.clone().subtract(clipboard.getRelativeOrigin());
-
-        Bukkit.getGlobalRegionScheduler().execute(core, () -> {
-            try {
-                for (int y = 0; y < clipboard.getHeight(); y++) {
-                    for (int z = 0; z < clipboard.getLength(); z++) {
-                        for (int x = 0; x < clipboard.getWidth(); x++) {
-                            BlockData clipboardBlockData = clipboard.getBlockData(x, y, z);
-                            if (clipboardBlockData == null) continue;
-
-                            if (!pasteAir && clipboardBlockData.getMaterial().isAir()) {
-                                continue;
+        final int startX = pasteStartLocation.getBlockX();
+        final int startY = pasteStartLocation.getBlockY();
+        final int startZ = pasteStartLocation.getBlockZ();
+
+        // Clipboard layers that land inside the target world's height; the rest is never visited.
+        final int minRelY = Math.max(0, targetWorld.getMinHeight() - startY);
+        final int maxRelY = Math.min(clipboard.getHeight() - 1, targetWorld.getMaxHeight() - 1 - startY);
+        final int sliceHeight = maxRelY - minRelY + 1;
+
+        boolean deferUpdates = ChunkDispatcher.defersUpdates(core, this);
+        // Without -a, runs of pure-air clipboard sections are skipped; the section index is built off-thread first.
+        CompletableFuture<Void> prepared = pasteAir
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.runAsync(clipboard::buildSectionIndex, core.getTaskEngine().getWorkerExecutor());
+        prepared.thenCompose(ignored -> ChunkDispatcher.dispatch(core, this, targetWorld, SelectionChunks.getChunks(contextualSelection), (chunkX, chunkZ, chunkChanges) -> {
+            // Clipboard-relative bounds of the part of the paste that falls into this chunk.
+            final int minRelX = Math.max(0, (chunkX << 4) - startX);
+            final int maxRelX = Math.min(clipboard.getWidth() - 1, (chunkX << 4) + 15 - startX);
+            final int minRelZ = Math.max(0, (chunkZ << 4) - startZ);
+            final int maxRelZ = Math.min(clipboard.getLength() - 1, (chunkZ << 4) + 15 - startZ);
+            final int sliceWidth = maxRelX - minRelX + 1;
+            final int sliceLength = maxRelZ - minRelZ + 1;
+            final long sliceVolume = (sliceWidth <= 0 || sliceLength <= 0 || sliceHeight <= 0) ? 0 : (long) sliceWidth * sliceLength * sliceHeight;
+
+            return new WorkUnit() {
+                private long index = 0; // Walks the slice in y -> z -> x order, so the writer sees each target section once.
+                private final ExtentWriter writer = new ExtentWriter(targetWorld, chunkX, chunkZ, chunkChanges).withDeferredUpdates(deferUpdates);
+
+                @Override
+                public boolean process(long deadlineNanos) {
+                    int sinceCheck = 0;
+                    while (index < sliceVolume) {
+                        if (++sinceCheck >= DEADLINE_CHECK_INTERVAL) {
+                            sinceCheck = 0;
+                            if (System.nanoTime() >= deadlineNanos) {
+                                return false;
                             }
+                        }
+                        int x = minRelX + (int) (index % sliceWidth);
+                        long layerIndex = index / sliceWidth;
+                        int z = minRelZ + (int) (layerIndex % sliceLength);
+                        int y = minRelY + (int) (layerIndex / sliceLength);
+
+                        // A row crosses at most two clipboard sections; check each where the row enters it.
+                        if (!pasteAir && (x == minRelX || (x & 15) == 0) && clipboard.isAirSection(x >> 4, y >> 4, z >> 4)) {
+                            index += Math.min(maxRelX, x | 15) - x + 1;
+                            continue;
+                        }
+                        index++;
 
-                            Location worldLoc = pasteStartLocation.clone().add(x, y, z);
-                            if (worldLoc.getBlockY() < targetWorld.getMinHeight() || worldLoc.getBlockY() >= targetWorld.getMaxHeight()) {
-                                continue;
-                            }
+                        BlockData clipboardBlockData = clipboard.getBlockData(x, y, z);
+                        if (clipboardBlockData == null) continue;
 
-                            Block worldBlock = targetWorld.getBlockAt(worldLoc);
-                            BlockData oldBlockData = worldBlock.getBlockData();
-                            if (!oldBlockData.matches(clipboardBlockData)) {
-                                changeSet.recordChange(worldBlock, clipboardBlockData);
-                                worldBlock.setBlockData(clipboardBlockData, false);
-                            }
+                        if (!pasteAir && clipboardBlockData.getMaterial().isAir()) {
+                            continue;
                         }
+
+                        writer.setBlock(startX + x, startY + y, startZ + z, clipboardBlockData);
                     }
+                    writer.flush();
+                    return true;
+                }
+
+                @Override
+                public long getBlocksProcessed() {
+                    return index;
+                }
+            };
+        })).whenComplete((changeSet, throwable) -> {
+            if (throwable != null) {
+                OperationCancelledException cancelled = OperationCancelledException.find(throwable); // thenCompose wraps it.
+                if (cancelled != null) {
+                    future.completeExceptionally(cancelled); // Carries the partial changes for undo.
+                    return;
                 }
+                core.getLogger().log(Level.SEVERE, "Error during PasteOperation execution: ", throwable);
+                future.completeExceptionally(new RuntimeException("Failed to paste clipboard: " + throwable.getMessage(), throwable));
+            } else {
                 future.complete(changeSet);
-            } catch (Exception e) {
-                core.getLogger().log(Level.SEVERE, "Error during PasteOperation execution: ", e);
-                future.completeExceptionally(new RuntimeException("Failed to paste clipboard: " + e.getMessage(), e));
             }
         });
         return future;
@@ -0,0 +1,54 @@
+package com.anynom39.anyares.operation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The random source of one pattern operation. Each chunk gets its own {@link SplittableRandom}
+ * stream derived from the operation's seed and the chunk's position, so chunks can be sampled
+ * on any thread, in any order, without sharing state, and the same seed over the same
+ * selection always produces the same blocks.
+ */
+public final class PatternRandom {
+
+    private final long seed;
+
+    private PatternRandom(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param seed The user's seed, or null to draw a fresh one.
+     */
+    @NotNull
+    public static PatternRandom create(@Nullable Long seed) {
+        return new PatternRandom(seed != null ? seed : ThreadLocalRandom.current().nextLong());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * A new stream for one chunk column. Streams of different chunks are independent; callers
+     * must not share one stream between threads.
+     */
+    @NotNull
+    public SplittableRandom forChunk(int chunkX, int chunkZ) {
+        long chunkKey = ((long) chunkX << 32) ^ (chunkZ & 0xFFFFFFFFL);
+        // Keyed by position rather than split off a shared root, so scheduling order does not matter.
+        return new SplittableRandom(mix64(seed ^ mix64(chunkKey))).split();
+    }
+
+    /**
+     * The finalizer of SplitMix64 / MurmurHash3: spreads every input bit over the whole result.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,326 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.history.ChangeSet;
+import com.anynom39.anyares.selection.Selection;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Repeats (//stack) or relocates (//move) a selection's contents without a clipboard.
+ * <p>
+ * The source chunks are first captured as snapshots, one per chunk column no matter how many
+ * copies are made, so memory stays bounded by the source and not by the result. Then every
+ * destination chunk works out each of its blocks' final state straight from those snapshots:
+ * the copied block if a copy lands there, air if a move vacates it, otherwise nothing. Reads
+ * never see a half-written world, so source and destination may overlap, and the whole edit
+ * is one ChangeSet.
+ */
+public class RegionCopyOperation implements BlockOperation {
+
+    public enum Mode {
+        /**
+         * Places {@code amount} copies side by side after the source, which stays as it is.
+         */
+        STACK,
+        /**
+         * Moves the contents {@code amount} blocks and clears what they leave behind.
+         */
+        MOVE
+    }
+
+    private final Player player;
+    private final Selection selection;
+    private final Mode mode;
+    private final BlockFace direction;
+    private final int count;
+    private final int stepX, stepY, stepZ; // Offset of copy k is k * step.
+    private final boolean copyAir;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+
+    /**
+     * @param direction One of the six cardinal faces.
+     * @param amount    The number of copies for {@link Mode#STACK}, the distance for {@link Mode#MOVE}.
+     * @param copyAir   Whether air in the source overwrites the destination.
+     */
+    public RegionCopyOperation(@Nullable Player player, @NotNull Selection selection, @NotNull Mode mode,
+                               @NotNull BlockFace direction, int amount, boolean copyAir) {
+        this.player = player;
+        this.selection = Objects.requireNonNull(selection, "Selection cannot be null");
+        this.mode = Objects.requireNonNull(mode, "Mode cannot be null");
+        this.direction = Objects.requireNonNull(direction, "Direction cannot be null");
+        if (!direction.isCartesian()) {
+            throw new IllegalArgumentException("Direction must be one of the six cardinal faces: " + direction);
+        }
+        if (amount < 1) {
+            throw new IllegalArgumentException("Amount must be at least 1.");
+        }
+        this.copyAir = copyAir;
+
+        Location bbMin = selection.getMinimumPoint();
+        Location bbMax = selection.getMaximumPoint();
+        this.minX = bbMin.getBlockX();
+        this.minY = bbMin.getBlockY();
+        this.minZ = bbMin.getBlockZ();
+        this.maxX = bbMax.getBlockX();
+        this.maxY = bbMax.getBlockY();
+        this.maxZ = bbMax.getBlockZ();
+
+        // A stack advances by the selection's size along the direction, a move by the distance.
+        int step = mode == Mode.STACK
+                ? switch (direction) {
+                    case EAST, WEST -> maxX - minX + 1;
+                    case UP, DOWN -> maxY - minY + 1;
+                    default -> maxZ - minZ + 1;
+                }
+                : amount;
+        this.count = mode == Mode.STACK ? amount : 1;
+        this.stepX = direction.getModX() * step;
+        this.stepY = direction.getModY() * step;
+        this.stepZ = direction.getModZ() * step;
+    }
+
+    @Override
+    @Nullable
+    public Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    @NotNull
+    public Selection getSelection() {
+        return selection;
+    }
+
+    @Override
+    public String getOperationName() {
+        String towards = direction.name().toLowerCase();
+        return mode == Mode.STACK
+                ? "Stack " + selection.getTypeName() + " x" + count + " " + towards
+                : "Move " + selection.getTypeName() + " " + Math.abs(stepX + stepY + stepZ) + " blocks " + towards;
+    }
+
+    @Override
+    public long getEstimatedBlocks() {
+        return selection.getVolume() * (mode == Mode.MOVE ? 2 : count);
+    }
+
+    /**
+     * The source chunks, which are read, and every chunk a copy or a cleared block lands in.
+     */
+    @Override
+    @NotNull
+    public List<ChunkPos> getAffectedChunks() {
+        Set<ChunkPos> chunks = new LinkedHashSet<>(SelectionChunks.getChunks(selection));
+        chunks.addAll(getTargetChunks());
+        return new ArrayList<>(chunks);
+    }
+
+    private List<ChunkPos> getTargetChunks() {
+        Set<ChunkPos> chunks = new LinkedHashSet<>();
+        if (mode == Mode.MOVE) {
+            chunks.addAll(SelectionChunks.getChunks(selection));
+        }
+        for (int k = 1; k <= count; k++) {
+            for (int chunkZ = (minZ + k * stepZ) >> 4; chunkZ <= (maxZ + k * stepZ) >> 4; chunkZ++) {
+                for (int chunkX = (minX + k * stepX) >> 4; chunkX <= (maxX + k * stepX) >> 4; chunkX++) {
+                    chunks.add(new ChunkPos(chunkX, chunkZ));
+                }
+            }
+        }
+        return new ArrayList<>(chunks);
+    }
+
+    @Override
+    public CompletableFuture<ChangeSet> execute(@NotNull AnyARES_Core core) {
+        CompletableFuture<ChangeSet> future = new CompletableFuture<>();
+        World world = selection.getWorld();
+        Map<ChunkPos, ChunkSnapshot> sources = new ConcurrentHashMap<>();
+        BlockData air = Bukkit.createBlockData(Material.AIR);
+        boolean deferUpdates = ChunkDispatcher.defersUpdates(core, this);
+
+        ChunkDispatcher.dispatchSnapshots(core, this, world, SelectionChunks.getChunks(selection), (chunkX, chunkZ, snapshot, unused) -> {
+            sources.put(new ChunkPos(chunkX, chunkZ), snapshot);
+            return new ChunkDispatcher.SnapshotRead(0, null);
+        }).thenCompose(ignored -> ChunkDispatcher.dispatch(core, this, world, getTargetChunks(), (chunkX, chunkZ, chunkChanges) ->
+                new CopyUnit(world, chunkX, chunkZ, sources, air, new ExtentWriter(world, chunkX, chunkZ, chunkChanges).withDeferredUpdates(deferUpdates))
+        )).whenComplete((changeSet, throwable) -> {
+            sources.clear();
+            if (throwable != null) {
+                OperationCancelledException cancelled = OperationCancelledException.find(throwable); // thenCompose wraps it.
+                if (cancelled != null) {
+                    future.completeExceptionally(cancelled); // Carries the partial changes for undo.
+                    return;
+                }
+                core.getLogger().log(Level.SEVERE, "Error during RegionCopyOperation (" + getOperationName() + ") execution: ", throwable);
+                future.completeExceptionally(new RuntimeException("Failed to " + mode.name().toLowerCase() + " selection: " + throwable.getMessage(), throwable));
+            } else {
+                future.complete(changeSet);
+            }
+        });
+        return future;
+    }
+
+    private boolean inSource(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ && selection.contains(x, y, z);
+    }
+
+    /**
+     * Writes one destination chunk: walks the part of the chunk any copy (or, for a move, the
+     * source) covers in y -> z -> x order and sets each block to its final state.
+     */
+    private final class CopyUnit implements WorkUnit {
+        private final Map<ChunkPos, ChunkSnapshot> sources;
+        private final BlockData air;
+        private final ExtentWriter writer;
+        private final int walkMinX, walkMinY, walkMinZ;
+        private final int walkMaxX, walkMaxY, walkMaxZ;
+        private final int worldMinY, worldMaxY;
+        private int x, y, z;
+        private long processed = 0;
+
+        private int cachedChunkX = Integer.MIN_VALUE, cachedChunkZ = Integer.MIN_VALUE;
+        private ChunkSnapshot cachedSnapshot;
+
+        CopyUnit(World world, int chunkX, int chunkZ, Map<ChunkPos, ChunkSnapshot> sources, BlockData air, ExtentWriter writer) {
+            this.sources = sources;
+            this.air = air;
+            this.writer = writer;
+            this.worldMinY = world.getMinHeight();
+            this.worldMaxY = world.getMaxHeight() - 1;
+
+            int[] box = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+            if (mode == Mode.MOVE) {
+                include(box, 0, chunkX, chunkZ);
+            }
+            for (int k = 1; k <= count; k++) {
+                include(box, k, chunkX, chunkZ);
+            }
+            this.walkMinX = box[0];
+            this.walkMinY = Math.max(box[1], worldMinY);
+            this.walkMinZ = box[2];
+            this.walkMaxX = box[3];
+            this.walkMaxY = Math.min(box[4], worldMaxY);
+            this.walkMaxZ = box[5];
+            this.x = walkMinX;
+            this.y = walkMinY;
+            this.z = walkMinZ;
+        }
+
+        /**
+         * Grows the walk box by the part of copy {@code k} (0 being the source) inside the chunk.
+         */
+        private void include(int[] box, int k, int chunkX, int chunkZ) {
+            int boxMinX = Math.max(minX + k * stepX, chunkX << 4);
+            int boxMaxX = Math.min(maxX + k * stepX, (chunkX << 4) + 15);
+            int boxMinZ = Math.max(minZ + k * stepZ, chunkZ << 4);
+            int boxMaxZ = Math.min(maxZ + k * stepZ, (chunkZ << 4) + 15);
+            if (boxMinX > boxMaxX || boxMinZ > boxMaxZ) {
+                return;
+            }
+            box[0] = Math.min(box[0], boxMinX);
+            box[1] = Math.min(box[1], minY + k * stepY);
+            box[2] = Math.min(box[2], boxMinZ);
+            box[3] = Math.max(box[3], boxMaxX);
+            box[4] = Math.max(box[4], maxY + k * stepY);
+            box[5] = Math.max(box[5], boxMaxZ);
+        }
+
+        @Override
+        public boolean process(long deadlineNanos) {
+            int sinceCheck = 0;
+            while (y <= walkMaxY && walkMinX <= walkMaxX) {
+                if (++sinceCheck >= DEADLINE_CHECK_INTERVAL) {
+                    sinceCheck = 0;
+                    if (System.nanoTime() >= deadlineNanos) {
+                        return false;
+                    }
+                }
+                BlockData target = finalState(x, y, z);
+                if (target != null) {
+                    writer.setBlock(x, y, z, target); // Unchanged blocks are skipped when the section is flushed.
+                }
+                processed++;
+                if (++x > walkMaxX) {
+                    x = walkMinX;
+                    if (++z > walkMaxZ) {
+                        z = walkMinZ;
+                        y++;
+                    }
+                }
+            }
+            writer.flush();
+            return true;
+        }
+
+        @Override
+        public long getBlocksProcessed() {
+            return processed;
+        }
+
+        /**
+         * @return What the block ends up as, or null to leave it alone.
+         */
+        @Nullable
+        private BlockData finalState(int x, int y, int z) {
+            // The copies whose source block would land here; for a stack they never overlap.
+            int kMin = 1, kMax = count;
+            if (stepX != 0) {
+                kMin = Math.max(kMin, ceilDiv(stepX > 0 ? x - maxX : x - minX, stepX));
+                kMax = Math.min(kMax, Math.floorDiv(stepX > 0 ? x - minX : x - maxX, stepX));
+            } else if (stepY != 0) {
+                kMin = Math.max(kMin, ceilDiv(stepY > 0 ? y - maxY : y - minY, stepY));
+                kMax = Math.min(kMax, Math.floorDiv(stepY > 0 ? y - minY : y - maxY, stepY));
+            } else {
+                kMin = Math.max(kMin, ceilDiv(stepZ > 0 ? z - maxZ : z - minZ, stepZ));
+                kMax = Math.min(kMax, Math.floorDiv(stepZ > 0 ? z - minZ : z - maxZ, stepZ));
+            }
+            for (int k = kMax; k >= kMin; k--) {
+                int sourceX = x - k * stepX, sourceY = y - k * stepY, sourceZ = z - k * stepZ;
+                if (sourceY < worldMinY || sourceY > worldMaxY || !inSource(sourceX, sourceY, sourceZ)) continue;
+
+                ChunkSnapshot snapshot = sourceSnapshot(sourceX >> 4, sourceZ >> 4);
+                if (snapshot == null) continue;
+                if (snapshot.getBlockType(sourceX & 15, sourceY, sourceZ & 15).isAir()) {
+                    if (!copyAir) break; // Air does not overwrite; the block may still be vacated below.
+                    return air;
+                }
+                return snapshot.getBlockData(sourceX & 15, sourceY, sourceZ & 15);
+            }
+            return mode == Mode.MOVE && inSource(x, y, z) ? air : null;
+        }
+
+        @Nullable
+        private ChunkSnapshot sourceSnapshot(int chunkX, int chunkZ) {
+            if (chunkX != cachedChunkX || chunkZ != cachedChunkZ) {
+                cachedSnapshot = sources.get(new ChunkPos(chunkX, chunkZ));
+                cachedChunkX = chunkX;
+                cachedChunkZ = chunkZ;
+            }
+            return cachedSnapshot;
+        }
+    }
+
+    private static int ceilDiv(int dividend, int divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+}
\ No newline at end of file
@@ -6,22 +6,27 @@ import com.anynom39.anyares.selection.Selection;
 import com.anynom39.anyares.util.BlockPatternParser;
 import com.anynom39.anyares.util.BlockPatternParser.MaskEntry;
 import com.anynom39.anyares.util.BlockPatternParser.WeightedBlockData;
-import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.IntPredicate;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class ReplaceOperation implements BlockOperation {
+public class ReplaceOperation implements DryRunnable {
 
     private final Player player;
     private final Selection selection;
@@ -30,19 +35,63 @@ public class ReplaceOperation implements BlockOperation {
     private final String operationName;
     private final Location sphereCenter;
     private final double radiusSquared;
+    private final PatternRandom random;
+    private final Prefilter prefilter;
+
+    private record PendingWrite(int x, int y, int z, BlockData target) {
+    }
+
+    /**
+     * Palette prefilter: chunks without any candidate block and all-air sections are never scanned.
+     *
+     * @param candidates         Exact states the mask can match, or null if any block might match.
+     * @param candidateMaterials Their materials, or null.
+     * @param airCanMatch        Whether all-air sections must still be scanned.
+     * @param minSectionY        Section Y of the world's bottom; snapshot sections are indexed from there.
+     */
+    private record Prefilter(@Nullable List<BlockData> candidates, @Nullable Set<Material> candidateMaterials,
+                             boolean airCanMatch, int minSectionY) {
+    }
 
     public ReplaceOperation(@Nullable Player player, @NotNull Selection selection,
                             @NotNull List<MaskEntry> fromMaskRules,
                             @NotNull List<WeightedBlockData> toPatternList,
                             @NotNull String rawFromPattern, @NotNull String rawToPattern) {
-        this(player, selection, fromMaskRules, toPatternList, rawFromPattern, rawToPattern, null, -1);
+        this(player, selection, fromMaskRules, toPatternList, rawFromPattern, rawToPattern, null, -1, null);
     }
 
+    /**
+     * @param seed Seed for sampling the 'to' pattern, or null for a random one.
+     */
+    public ReplaceOperation(@Nullable Player player, @NotNull Selection selection,
+                            @NotNull List<MaskEntry> fromMaskRules,
+                            @NotNull List<WeightedBlockData> toPatternList,
+                            @NotNull String rawFromPattern, @NotNull String rawToPattern,
+                            @Nullable Long seed) {
+        this(player, selection, fromMaskRules, toPatternList, rawFromPattern, rawToPattern, null, -1, seed);
+    }
+
+    /**
+     * Replaces only inside a sphere around {@code sphereCenter}, testing every block of the
+     * boundary selection against it.
+     *
+     * @deprecated Pass a {@link com.anynom39.anyares.selection.SphereSelection} to the other
+     * constructor instead; its rows are walked without visiting the cells outside the sphere.
+     */
+    @Deprecated
     public ReplaceOperation(@Nullable Player player, @NotNull Selection selectionBoundary,
                             @NotNull List<MaskEntry> fromMaskRules,
                             @NotNull List<WeightedBlockData> toPatternList,
                             @NotNull String rawFromPattern, @NotNull String rawToPattern,
                             @Nullable Location sphereCenter, double radius) {
+        this(player, selectionBoundary, fromMaskRules, toPatternList, rawFromPattern, rawToPattern, sphereCenter, radius, null);
+    }
+
+    private ReplaceOperation(@Nullable Player player, @NotNull Selection selectionBoundary,
+                             @NotNull List<MaskEntry> fromMaskRules,
+                             @NotNull List<WeightedBlockData> toPatternList,
+                             @NotNull String rawFromPattern, @NotNull String rawToPattern,
+                             @Nullable Location sphereCenter, double radius, @Nullable Long seed) {
         this.player = player;
         this.selection = Objects.requireNonNull(selectionBoundary, "Selection boundary cannot be null");
         this.fromMaskRules = Objects.requireNonNull(fromMaskRules, "FromMaskRules list cannot be null.");
@@ -58,6 +107,14 @@ public class ReplaceOperation implements BlockOperation {
         String shapeInfo = (this.sphereCenter != null) ? " (Spherical)" : " in " + selection.getTypeName();
         this.operationName = "Replace " + (rawFromPattern.length() > 15 ? rawFromPattern.substring(0, 12) + "..." : rawFromPattern) +
                 " with " + (rawToPattern.length() > 15 ? rawToPattern.substring(0, 12) + "..." : rawToPattern) + shapeInfo;
+        this.random = PatternRandom.create(seed);
+
+        List<BlockData> candidates = exactCandidates(fromMaskRules);
+        this.prefilter = new Prefilter(candidates,
+                candidates == null ? null : candidates.stream().map(BlockData::getMaterial).collect(Collectors.toSet()),
+                Stream.of(Material.AIR, Material.CAVE_AIR, Material.VOID_AIR)
+                        .anyMatch(air -> BlockPatternParser.matchesMask(air.createBlockData(), fromMaskRules)),
+                selection.getWorld().getMinHeight() >> 4);
     }
 
     @Override
@@ -86,47 +143,142 @@ public class ReplaceOperation implements BlockOperation {
         return selection.getVolume();
     }
 
+    @Override
+    @Nullable
+    public Long getRandomSeed() {
+        return toPatternList.size() > 1 ? random.getSeed() : null;
+    }
+
     @Override
     public CompletableFuture<ChangeSet> execute(@NotNull AnyARES_Core core) {
         CompletableFuture<ChangeSet> future = new CompletableFuture<>();
         World world = selection.getWorld();
-        ChangeSet changeSet = new ChangeSet(world);
 
-        Bukkit.getGlobalRegionScheduler().execute(core, () -> {
-            try {
-                Iterator<Block> blockIterator = selection.getBlockIterator();
+        boolean deferUpdates = ChunkDispatcher.defersUpdates(core, this);
 
-                while (blockIterator.hasNext()) {
-                    Block currentBlock = blockIterator.next();
-                    Location currentBlockCenter = currentBlock.getLocation().add(0.5, 0.5, 0.5);
+        // Masks are matched against a snapshot on the worker pool; only the matches are written on the owning thread.
+        ChunkDispatcher.dispatchSnapshots(core, this, world, SelectionChunks.getChunks(selection), (chunkX, chunkZ, snapshot, chunkChanges) -> {
+            List<PendingWrite> pending = new ArrayList<>();
+            long blocksRead = scanChunk(chunkX, chunkZ, snapshot, pending);
+            return new ChunkDispatcher.SnapshotRead(blocksRead, pending.isEmpty() ? null : writePending(world, chunkX, chunkZ, pending, chunkChanges, deferUpdates));
+        }).whenComplete((changeSet, throwable) -> {
+            if (throwable != null) {
+                if (throwable instanceof OperationCancelledException) {
+                    future.completeExceptionally(throwable); // Carries the partial changes for undo.
+                    return;
+                }
+                core.getLogger().log(Level.SEVERE, "Error during ReplaceOperation (" + getOperationName() + ") execution: ", throwable);
+                future.completeExceptionally(new RuntimeException("Failed to replace blocks: " + throwable.getMessage(), throwable));
+            } else {
+                future.complete(changeSet);
+            }
+        });
+        return future;
+    }
 
-                    if (sphereCenter != null && radiusSquared > 0) {
-                        if (currentBlockCenter.getWorld().equals(sphereCenter.getWorld()) &&
-                                currentBlockCenter.distanceSquared(sphereCenter) > radiusSquared) {
-                            continue;
-                        }
-                    }
+    @Override
+    @NotNull
+    public ChunkEstimate estimateChunk(int chunkX, int chunkZ, @NotNull ChunkSnapshot snapshot) {
+        List<PendingWrite> pending = new ArrayList<>();
+        long blocksRead = scanChunk(chunkX, chunkZ, snapshot, pending);
+        return new ChunkEstimate(blocksRead, pending.size());
+    }
 
-                    BlockData oldBlockData = currentBlock.getBlockData();
+    /**
+     * Matches one chunk's snapshot against the mask and collects the writes it calls for.
+     * Runs on a worker thread.
+     *
+     * @return How many blocks were evaluated, counting skipped ones.
+     */
+    private long scanChunk(int chunkX, int chunkZ, ChunkSnapshot snapshot, List<PendingWrite> pending) {
+        World world = selection.getWorld();
+        boolean sphereFilter = sphereCenter != null && radiusSquared > 0 && world.equals(sphereCenter.getWorld());
+        double centerX = sphereFilter ? sphereCenter.getX() : 0;
+        double centerY = sphereFilter ? sphereCenter.getY() : 0;
+        double centerZ = sphereFilter ? sphereCenter.getZ() : 0;
 
-                    if (BlockPatternParser.matchesMask(oldBlockData, fromMaskRules)) {
-                        BlockData newBlockData = BlockPatternParser.selectRandomBlockData(toPatternList);
-                        if (newBlockData == null) {
-                            core.getLogger().warning("selectRandomBlockData (toPattern) returned null in ReplaceOperation.");
-                            continue;
-                        }
-                        if (!oldBlockData.matches(newBlockData)) {
-                            changeSet.recordChange(currentBlock, newBlockData);
-                            currentBlock.setBlockData(newBlockData, false);
+        List<BlockData> candidates = prefilter.candidates();
+        Set<Material> candidateMaterials = prefilter.candidateMaterials();
+        if (candidates != null && candidates.stream().noneMatch(snapshot::contains)) {
+            return SelectionChunks.forEachInChunk(selection, chunkX, chunkZ, sectionY -> false, (x, y, z) -> { });
+        }
+        SplittableRandom chunkRandom = random.forChunk(chunkX, chunkZ); // Confined to this scan.
+        IntPredicate sectionFilter = prefilter.airCanMatch() ? null : sectionY -> !snapshot.isSectionEmpty(sectionY - prefilter.minSectionY());
+        return SelectionChunks.forEachInChunk(selection, chunkX, chunkZ, sectionFilter, (x, y, z) -> {
+            if (sphereFilter) {
+                double dx = x + 0.5 - centerX, dy = y + 0.5 - centerY, dz = z + 0.5 - centerZ;
+                if (dx * dx + dy * dy + dz * dz > radiusSquared) {
+                    return;
+                }
+            }
+            if (candidateMaterials != null && !candidateMaterials.contains(snapshot.getBlockType(x & 15, y, z & 15))) {
+                return; // Rejected by type alone, without creating block data.
+            }
+            BlockData oldBlockData = snapshot.getBlockData(x & 15, y, z & 15);
+            if (!BlockPatternParser.matchesMask(oldBlockData, fromMaskRules)) {
+                return;
+            }
+            BlockData newBlockData = BlockPatternParser.selectRandomBlockData(toPatternList, chunkRandom);
+            if (newBlockData == null) {
+                return;
+            }
+            if (!oldBlockData.matches(newBlockData)) {
+                pending.add(new PendingWrite(x, y, z, newBlockData));
+            }
+        });
+    }
+
+    /**
+     * The exact block states the mask can match, if that set is known: every positive rule
+     * names a block without states and there are no wildcards. Stateful blocks are left out
+     * because a partially specified state can match many palette entries.
+     *
+     * @return The candidates, or null if any block might match.
+     */
+    @Nullable
+    private static List<BlockData> exactCandidates(List<MaskEntry> maskRules) {
+        List<BlockData> candidates = new ArrayList<>();
+        for (MaskEntry rule : maskRules) {
+            if (rule.isNegated) continue;
+            if (rule.isWildcard || rule.blockData == null) {
+                return null;
+            }
+            BlockData onlyState = rule.blockData.getMaterial().createBlockData();
+            if (onlyState.getAsString().indexOf('[') >= 0) {
+                return null; // Has block states.
+            }
+            candidates.add(onlyState);
+        }
+        return candidates.isEmpty() ? null : candidates; // Only negated rules: anything else matches.
+    }
+
+    /**
+     * Applies the writes found in a snapshot. The live block is checked against the mask again
+     * when its section is flushed, since the world may have changed since the snapshot.
+     */
+    private WorkUnit writePending(World world, int chunkX, int chunkZ, List<PendingWrite> pending, ChangeSet chunkChanges, boolean deferUpdates) {
+        ExtentWriter writer = new ExtentWriter(world, chunkX, chunkZ, chunkChanges)
+                .withLiveFilter(liveBlockData -> BlockPatternParser.matchesMask(liveBlockData, fromMaskRules))
+                .withDeferredUpdates(deferUpdates);
+        return new WorkUnit() {
+            private int next = 0;
+
+            @Override
+            public boolean process(long deadlineNanos) {
+                int sinceCheck = 0;
+                while (next < pending.size()) {
+                    if (++sinceCheck >= DEADLINE_CHECK_INTERVAL) {
+                        sinceCheck = 0;
+                        if (System.nanoTime() >= deadlineNanos) {
+                            return false;
                         }
                     }
+                    PendingWrite write = pending.get(next++);
+                    writer.setBlock(write.x(), write.y(), write.z(), write.target());
                 }
-                future.complete(changeSet);
-            } catch (Exception e) {
-                core.getLogger().log(Level.SEVERE, "Error during ReplaceOperation (" + getOperationName() + ") execution: ", e);
-                future.completeExceptionally(new RuntimeException("Failed to replace blocks: " + e.getMessage(), e));
+                writer.flush();
+                return true;
             }
-        });
-        return future;
+        };
     }
 }
\ No newline at end of file
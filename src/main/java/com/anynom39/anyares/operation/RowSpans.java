@@ -0,0 +1,117 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.selection.CuboidSelection;
+import com.anynom39.anyares.selection.PolygonSelection;
+import com.anynom39.anyares.selection.RowSpanShape;
+import com.anynom39.anyares.selection.Selection;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Finds the selected runs of a row along X straight from a selection's shape: cuboids by
+ * their bounds, {@link RowSpanShape}s by their span and polygons by a scanline. Other shapes
+ * fall back to testing every cell of the row. Immutable and shared between threads; callers
+ * own the buffers.
+ */
+final class RowSpans {
+
+    private final Selection selection;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+
+    RowSpans(@NotNull Selection selection) {
+        this.selection = selection;
+        Location bbMin = selection.getMinimumPoint();
+        Location bbMax = selection.getMaximumPoint();
+        this.minX = bbMin.getBlockX();
+        this.minY = bbMin.getBlockY();
+        this.minZ = bbMin.getBlockZ();
+        this.maxX = bbMax.getBlockX();
+        this.maxY = bbMax.getBlockY();
+        this.maxZ = bbMax.getBlockZ();
+    }
+
+    /**
+     * @return The size a run buffer must have: two ints per run, for as many runs as a row of the
+     * bounding box can hold when selected and unselected blocks alternate.
+     */
+    int bufferSize() {
+        int runs = (maxX - minX) / 2 + 1;
+        if (selection instanceof PolygonSelection polygon) {
+            runs = Math.max(runs, polygon.getPolygonVertices().size()); // The scanline's scratch use.
+        }
+        return 2 * runs + 2;
+    }
+
+    /**
+     * Writes the selected runs of row {@code (y, z)} to {@code spans} as {@code start, end} pairs,
+     * in ascending X and separated by at least one unselected block.
+     *
+     * @return The number of runs.
+     */
+    int spans(int y, int z, int[] spans) {
+        if (y < minY || y > maxY || z < minZ || z > maxZ) {
+            return 0;
+        }
+        if (selection instanceof CuboidSelection) {
+            spans[0] = minX;
+            spans[1] = maxX;
+            return 1;
+        }
+        if (selection instanceof RowSpanShape shape) {
+            return shape.rowSpan(y, z, spans) ? 1 : 0;
+        }
+        if (selection instanceof PolygonSelection polygon) {
+            return polygon.rowSpans(y, z, spans);
+        }
+        int count = 0;
+        for (int x = minX; x <= maxX; x++) {
+            if (!selection.contains(x, y, z)) continue;
+            if (count > 0 && spans[2 * count - 1] == x - 1) {
+                spans[2 * count - 1] = x;
+            } else {
+                spans[2 * count] = x;
+                spans[2 * count + 1] = x;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    int getMinY() {
+        return minY;
+    }
+
+    int getMaxY() {
+        return maxY;
+    }
+
+    int getMinZ() {
+        return minZ;
+    }
+
+    int getMaxZ() {
+        return maxZ;
+    }
+
+    /**
+     * Intersects two run lists.
+     *
+     * @return The number of runs written to {@code out}, which must not be {@code a} or {@code b}.
+     */
+    static int intersect(int[] a, int aCount, int[] b, int bCount, int[] out) {
+        int i = 0, j = 0, count = 0;
+        while (i < aCount && j < bCount) {
+            int start = Math.max(a[2 * i], b[2 * j]);
+            int end = Math.min(a[2 * i + 1], b[2 * j + 1]);
+            if (start <= end) {
+                out[2 * count] = start;
+                out[2 * count + 1] = end;
+                count++;
+            }
+            if (a[2 * i + 1] < b[2 * j + 1]) i++;
+            else j++;
+        }
+        return count;
+    }
+}
\ No newline at end of file
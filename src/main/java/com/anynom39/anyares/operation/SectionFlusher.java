@@ -0,0 +1,79 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.history.ChangeSet;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Writes one buffered 16x16x16 chunk section to the world for an {@link ExtentWriter}.
+ * <p>
+ * The default is {@link BukkitSectionFlusher}, which only uses the Bukkit API. A faster
+ * implementation working on server internals can be installed with
+ * {@link ExtentWriter#setSectionFlusher(SectionFlusher)}; it must behave the same way.
+ * <p>
+ * Flushers that can write without per-block lighting and client updates report
+ * {@link #supportsDeferredUpdates()}. Large edits then flush with {@code deferUpdates} set and
+ * call {@link #refreshChunk(World, int, int)} once per changed chunk when they are done, so a
+ * 100-chunk paste costs about 100 chunk resends instead of one packet per block.
+ */
+public interface SectionFlusher {
+
+    /**
+     * Applies the buffered blocks of one section. Called on the region thread owning the chunk.
+     * <p>
+     * For every non-null entry the flusher reads the current block, skips it if it already
+     * matches or the live filter rejects it, records the change (if {@code changes} is not
+     * null) and writes the new data without applying physics.
+     *
+     * @param world        The world being edited.
+     * @param chunkX       The chunk X coordinate.
+     * @param chunkZ       The chunk Z coordinate.
+     * @param sectionY     The section's Y index (block Y >> 4, may be negative).
+     * @param blocks       4096 entries indexed by {@link ExtentWriter#sectionIndex(int, int, int)}; null means untouched.
+     * @param liveFilter   Optional test on the current block data; blocks it rejects are left alone.
+     * @param changes      Where to record the changes, or null to write without recording (undo, redo).
+     * @param deferUpdates Skip per-block lighting and client updates; the chunk is refreshed later. Only set if {@link #supportsDeferredUpdates()}.
+     * @return How many blocks were changed.
+     */
+    int flushSection(@NotNull World world, int chunkX, int chunkZ, int sectionY, @NotNull BlockData[] blocks,
+                     @Nullable Predicate<BlockData> liveFilter, @Nullable ChangeSet changes, boolean deferUpdates);
+
+    /**
+     * Sets every block of one section to the same data, with the same skipping, filtering and
+     * recording rules as {@link #flushSection}. Implementations working on server internals can
+     * replace the section's palette in one step; the default hands a filled buffer to flushSection.
+     *
+     * @return How many blocks were changed.
+     */
+    default int fillSection(@NotNull World world, int chunkX, int chunkZ, int sectionY, @NotNull BlockData blockData,
+                            @Nullable Predicate<BlockData> liveFilter, @Nullable ChangeSet changes, boolean deferUpdates) {
+        BlockData[] blocks = new BlockData[ExtentWriter.SECTION_VOLUME];
+        Arrays.fill(blocks, blockData);
+        return flushSection(world, chunkX, chunkZ, sectionY, blocks, liveFilter, changes, deferUpdates);
+    }
+
+    /**
+     * @return Whether this flusher honours {@code deferUpdates}. The Bukkit API cannot hold back
+     * lighting or block-change packets, so the portable implementation does not.
+     */
+    default boolean supportsDeferredUpdates() {
+        return false;
+    }
+
+    /**
+     * Relights one chunk written with deferred updates and resends it to the players who can
+     * see it. Called once per changed chunk on the chunk's owning region thread as soon as the
+     * edit is done with it; the chunk may have been unloaded in the meantime. The default
+     * resends the chunk, which makes the client recompute its lighting.
+     */
+    default void refreshChunk(@NotNull World world, int chunkX, int chunkZ) {
+        if (world.isChunkLoaded(chunkX, chunkZ)) {
+            world.refreshChunk(chunkX, chunkZ);
+        }
+    }
+}
\ No newline at end of file
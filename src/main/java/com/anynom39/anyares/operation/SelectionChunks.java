@@ -0,0 +1,261 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.selection.RowSpanShape;
+import com.anynom39.anyares.selection.Selection;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
+
+/**
+ * Splits a {@link Selection} into chunk-aligned pieces so that each piece can be
+ * processed on the region thread that owns its chunk.
+ */
+public final class SelectionChunks {
+
+    private SelectionChunks() {
+    }
+
+    /**
+     * Lists every chunk column the selection's bounding box touches, ordered X-major
+     * within rows of Z so that neighbouring entries are neighbouring chunks.
+     */
+    @NotNull
+    public static List<ChunkPos> getChunks(@NotNull Selection selection) {
+        Location min = selection.getMinimumPoint();
+        Location max = selection.getMaximumPoint();
+        int minChunkX = min.getBlockX() >> 4;
+        int minChunkZ = min.getBlockZ() >> 4;
+        int maxChunkX = max.getBlockX() >> 4;
+        int maxChunkZ = max.getBlockZ() >> 4;
+
+        List<ChunkPos> chunks = new ArrayList<>((maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1));
+        for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                chunks.add(new ChunkPos(chunkX, chunkZ));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Iterates the blocks of the selection that lie inside one chunk column and inside
+     * the world's build height.
+     */
+    @NotNull
+    public static Iterator<Block> blocksInChunk(@NotNull Selection selection, int chunkX, int chunkZ) {
+        return new ChunkSliceIterator(selection, chunkX, chunkZ);
+    }
+
+    /**
+     * Receives block coordinates from {@link #forEachInChunk(Selection, int, int, BlockVisitor)}.
+     */
+    @FunctionalInterface
+    public interface BlockVisitor {
+        void visit(int x, int y, int z);
+    }
+
+    /**
+     * Visits the same blocks as {@link #blocksInChunk(Selection, int, int)}, in the same order,
+     * without creating Block objects or touching the world, so it may run off the owning thread.
+     *
+     * @return How many blocks were visited.
+     */
+    public static long forEachInChunk(@NotNull Selection selection, int chunkX, int chunkZ, @NotNull BlockVisitor visitor) {
+        return forEachInChunk(selection, chunkX, chunkZ, null, visitor);
+    }
+
+    /**
+     * Like {@link #forEachInChunk(Selection, int, int, BlockVisitor)}, but skips whole 16-block
+     * sections the filter rejects, e.g. because a chunk snapshot shows they cannot contain a match.
+     *
+     * @param sectionFilter Receives a section's Y index (block Y >> 4); null visits every section.
+     * @return How many blocks were visited, plus the bounding-box volume of the skipped sections
+     * so progress still adds up.
+     */
+    public static long forEachInChunk(@NotNull Selection selection, int chunkX, int chunkZ,
+                                      @Nullable IntPredicate sectionFilter, @NotNull BlockVisitor visitor) {
+        World world = selection.getWorld();
+        Location bbMin = selection.getMinimumPoint();
+        Location bbMax = selection.getMaximumPoint();
+        int minX = Math.max(bbMin.getBlockX(), chunkX << 4);
+        int minZ = Math.max(bbMin.getBlockZ(), chunkZ << 4);
+        int minY = Math.max(bbMin.getBlockY(), world.getMinHeight());
+        int maxX = Math.min(bbMax.getBlockX(), (chunkX << 4) + 15);
+        int maxZ = Math.min(bbMax.getBlockZ(), (chunkZ << 4) + 15);
+        int maxY = Math.min(bbMax.getBlockY(), world.getMaxHeight() - 1);
+
+        RowSpanShape spans = selection instanceof RowSpanShape shape ? shape : null;
+        int[] span = new int[2];
+        long visited = 0;
+        for (int y = minY; y <= maxY; y++) {
+            if (sectionFilter != null && ((y & 15) == 0 || y == minY) && !sectionFilter.test(y >> 4)) {
+                int sectionEnd = Math.min(maxY, y | 15);
+                visited += (long) (sectionEnd - y + 1) * (maxZ - minZ + 1) * (maxX - minX + 1);
+                y = sectionEnd;
+                continue;
+            }
+            for (int z = minZ; z <= maxZ; z++) {
+                if (spans != null) {
+                    // Every block of the row's span is selected, so no per-block test is needed.
+                    if (spans.rowSpan(y, z, span)) {
+                        for (int x = Math.max(minX, span[0]), rowMaxX = Math.min(maxX, span[1]); x <= rowMaxX; x++) {
+                            visitor.visit(x, y, z);
+                            visited++;
+                        }
+                    }
+                    continue;
+                }
+                for (int x = minX; x <= maxX; x++) {
+                    if (selection.contains(x, y, z)) {
+                        visitor.visit(x, y, z);
+                        visited++;
+                    }
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Creates a resumable cursor over the same blocks as {@link #blocksInChunk(Selection, int, int)}.
+     * The cursor only produces coordinates and never touches the world.
+     */
+    @NotNull
+    public static ChunkCursor cursor(@NotNull Selection selection, int chunkX, int chunkZ) {
+        return new ChunkCursor(selection, chunkX, chunkZ);
+    }
+
+    /**
+     * Walks the selection's blocks inside one chunk column in y -> z -> x order.
+     * Call {@link #next()} before reading the first position. Shapes implementing
+     * {@link RowSpanShape} are walked span by span without testing each block.
+     */
+    public static final class ChunkCursor {
+        private final Selection selection;
+        private final RowSpanShape spans; // Set when rows can be walked span by span.
+        private final int[] span = new int[2];
+        private final int minX, minY, minZ;
+        private final int maxX, maxY, maxZ;
+        private int nextX, nextY, nextZ;
+        private int rowMaxX;
+        private boolean rowStarted = false;
+        private int x, y, z;
+
+        private ChunkCursor(Selection selection, int chunkX, int chunkZ) {
+            this.selection = selection;
+            this.spans = selection instanceof RowSpanShape shape ? shape : null;
+            World world = selection.getWorld();
+            Location bbMin = selection.getMinimumPoint();
+            Location bbMax = selection.getMaximumPoint();
+
+            this.minX = Math.max(bbMin.getBlockX(), chunkX << 4);
+            this.minZ = Math.max(bbMin.getBlockZ(), chunkZ << 4);
+            this.minY = Math.max(bbMin.getBlockY(), world.getMinHeight());
+            this.maxX = Math.min(bbMax.getBlockX(), (chunkX << 4) + 15);
+            this.maxZ = Math.min(bbMax.getBlockZ(), (chunkZ << 4) + 15);
+            this.maxY = Math.min(bbMax.getBlockY(), world.getMaxHeight() - 1);
+
+            this.nextX = minX;
+            this.nextY = minY;
+            this.nextZ = minZ;
+        }
+
+        /**
+         * Moves to the next position inside the selection.
+         *
+         * @return false once the chunk column is exhausted.
+         */
+        public boolean next() {
+            while (nextY <= maxY) {
+                while (nextZ <= maxZ) {
+                    if (!rowStarted) {
+                        startRow();
+                    }
+                    while (nextX <= rowMaxX) {
+                        int candidateX = nextX++;
+                        if (spans != null || selection.contains(candidateX, nextY, nextZ)) {
+                            x = candidateX;
+                            y = nextY;
+                            z = nextZ;
+                            return true;
+                        }
+                    }
+                    rowStarted = false;
+                    nextZ++;
+                }
+                nextZ = minZ;
+                nextY++;
+            }
+            return false;
+        }
+
+        private void startRow() {
+            rowStarted = true;
+            nextX = minX;
+            rowMaxX = maxX;
+            if (spans != null) {
+                if (spans.rowSpan(nextY, nextZ, span)) {
+                    nextX = Math.max(minX, span[0]);
+                    rowMaxX = Math.min(maxX, span[1]);
+                } else {
+                    rowMaxX = nextX - 1; // Nothing selected in this row.
+                }
+            }
+        }
+
+        /**
+         * Continues at the start of layer {@code y} on the next call to {@link #next()}, e.g.
+         * after the caller handled the rest of a section in one go.
+         */
+        public void skipToLayer(int y) {
+            nextY = y;
+            nextZ = minZ;
+            rowStarted = false;
+        }
+
+        public int x() {
+            return x;
+        }
+
+        public int y() {
+            return y;
+        }
+
+        public int z() {
+            return z;
+        }
+    }
+
+    private static class ChunkSliceIterator implements Iterator<Block> {
+        private final World world;
+        private final ChunkCursor cursor;
+        private boolean hasNext;
+
+        ChunkSliceIterator(Selection selection, int chunkX, int chunkZ) {
+            this.world = selection.getWorld();
+            this.cursor = new ChunkCursor(selection, chunkX, chunkZ);
+            this.hasNext = cursor.next();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public Block next() {
+            if (!hasNext) throw new NoSuchElementException();
+            Block toReturn = world.getBlockAt(cursor.x(), cursor.y(), cursor.z());
+            hasNext = cursor.next();
+            return toReturn;
+        }
+    }
+}
\ No newline at end of file
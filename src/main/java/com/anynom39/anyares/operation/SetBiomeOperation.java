@@ -0,0 +1,145 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.history.ChangeSet;
+import com.anynom39.anyares.selection.Selection;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Sets the biome of every 4x4x4 biome cell the selection touches.
+ * <p>
+ * The world stores biomes per cell, so each cell is read and written once instead of once per
+ * block. Which cells are touched is worked out from the shape's row runs (see {@link RowSpans}).
+ * Each chunk's cells are written by one unit and recorded as biome changes for undo. Clients
+ * only learn of biomes with the chunk, so {@link ChunkDispatcher} resends every chunk with
+ * recorded biome changes once its unit is over, also when the operation was cancelled midway.
+ */
+public class SetBiomeOperation implements BlockOperation {
+
+    private final Player player;
+    private final Selection selection;
+    private final Biome biome;
+    private final RowSpans rows;
+
+    public SetBiomeOperation(@Nullable Player player, @NotNull Selection selection, @NotNull Biome biome) {
+        this.player = player;
+        this.selection = Objects.requireNonNull(selection, "Selection cannot be null");
+        this.biome = Objects.requireNonNull(biome, "Biome cannot be null");
+        this.rows = new RowSpans(selection);
+    }
+
+    @Override
+    @Nullable
+    public Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    @NotNull
+    public Selection getSelection() {
+        return selection;
+    }
+
+    @Override
+    public String getOperationName() {
+        return "Set biome of " + selection.getTypeName() + " to " + biome.getKey().getKey();
+    }
+
+    /**
+     * One per biome cell.
+     */
+    @Override
+    public long getEstimatedBlocks() {
+        return Math.max(1, selection.getVolume() / 64);
+    }
+
+    @Override
+    public CompletableFuture<ChangeSet> execute(@NotNull AnyARES_Core core) {
+        CompletableFuture<ChangeSet> future = new CompletableFuture<>();
+        World world = selection.getWorld();
+        int minY = Math.max(rows.getMinY(), world.getMinHeight());
+        int maxY = Math.min(rows.getMaxY(), world.getMaxHeight() - 1);
+
+        ChunkDispatcher.dispatch(core, this, world, SelectionChunks.getChunks(selection), (chunkX, chunkZ, chunkChanges) -> new WorkUnit() {
+            private final int[] spans = new int[rows.bufferSize()];
+            private final boolean[] touched = new boolean[4]; // The chunk's four cells along X.
+            private final int fromZ = Math.max(rows.getMinZ(), chunkZ << 4) & ~3;
+            private final int toZ = Math.min(rows.getMaxZ(), (chunkZ << 4) + 15);
+            private int cellY = minY & ~3;
+            private int cellZ = fromZ;
+            private long processed = 0;
+
+            @Override
+            public boolean process(long deadlineNanos) {
+                // A row of cells holds at most four, so the deadline is checked per row.
+                while (cellY <= maxY) {
+                    if (System.nanoTime() >= deadlineNanos) {
+                        return false;
+                    }
+                    markTouchedCells();
+                    for (int cell = 0; cell < 4; cell++) {
+                        if (!touched[cell]) continue;
+                        int x = (chunkX << 4) + (cell << 2);
+                        Biome oldBiome = world.getBiome(x, cellY, cellZ);
+                        if (!oldBiome.equals(biome)) {
+                            world.setBiome(x, cellY, cellZ, biome);
+                            chunkChanges.recordBiomeChange(x, cellY, cellZ, oldBiome, biome);
+                        }
+                        processed++;
+                    }
+                    cellZ += 4;
+                    if (cellZ > toZ) {
+                        cellZ = fromZ;
+                        cellY += 4;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public long getBlocksProcessed() {
+                return processed;
+            }
+
+            /**
+             * Marks which of the chunk's cells in row {@code (cellY, cellZ)} hold a selected block.
+             */
+            private void markTouchedCells() {
+                Arrays.fill(touched, false);
+                for (int y = Math.max(cellY, minY); y <= Math.min(cellY + 3, maxY); y++) {
+                    for (int z = Math.max(cellZ, rows.getMinZ()); z <= Math.min(cellZ + 3, rows.getMaxZ()); z++) {
+                        int runs = rows.spans(y, z, spans);
+                        for (int i = 0; i < runs; i++) {
+                            int start = Math.max(spans[2 * i], chunkX << 4);
+                            int end = Math.min(spans[2 * i + 1], (chunkX << 4) + 15);
+                            for (int cell = (start & 15) >> 2; start <= end && cell <= (end & 15) >> 2; cell++) {
+                                touched[cell] = true;
+                            }
+                        }
+                    }
+                }
+            }
+        }).whenComplete((changeSet, throwable) -> {
+            if (throwable != null) {
+                if (throwable instanceof OperationCancelledException) {
+                    future.completeExceptionally(throwable); // Carries the partial changes for undo.
+                    return;
+                }
+                core.getLogger().log(Level.SEVERE, "Error during SetBiomeOperation (" + getOperationName() + ") execution: ", throwable);
+                future.completeExceptionally(new RuntimeException("Failed to set biome: " + throwable.getMessage(), throwable));
+            } else {
+                future.complete(changeSet);
+            }
+        });
+        return future;
+    }
+}
\ No newline at end of file
@@ -2,31 +2,42 @@ package com.anynom39.anyares.operation;
 
 import com.anynom39.anyares.AnyARES_Core;
 import com.anynom39.anyares.history.ChangeSet;
+import com.anynom39.anyares.selection.CuboidSelection;
 import com.anynom39.anyares.selection.Selection;
 import com.anynom39.anyares.util.BlockPatternParser;
-import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.SplittableRandom;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
-public class SetOperation implements BlockOperation {
+public class SetOperation implements DryRunnable {
 
     private final Player player;
     private final Selection selection;
     private final List<BlockPatternParser.WeightedBlockData> patternList;
     private final String operationName;
+    private final PatternRandom random;
 
     public SetOperation(@Nullable Player player, @NotNull Selection selection,
                         @NotNull List<BlockPatternParser.WeightedBlockData> patternList, @NotNull String rawPatternString) {
+        this(player, selection, patternList, rawPatternString, null);
+    }
+
+    /**
+     * @param seed Seed for sampling the pattern, or null for a random one.
+     */
+    public SetOperation(@Nullable Player player, @NotNull Selection selection,
+                        @NotNull List<BlockPatternParser.WeightedBlockData> patternList, @NotNull String rawPatternString,
+                        @Nullable Long seed) {
         this.player = player;
         this.selection = Objects.requireNonNull(selection, "Selection cannot be null");
         this.patternList = Objects.requireNonNull(patternList, "Pattern list cannot be null");
@@ -35,6 +46,7 @@ public class SetOperation implements BlockOperation {
         }
         this.operationName = "Set Blocks to pattern: " + (rawPatternString.length() > 30 ? rawPatternString.substring(0, 27) + "..." : rawPatternString)
                 + " in " + selection.getTypeName();
+        this.random = PatternRandom.create(seed);
     }
 
     @Override
@@ -59,40 +71,113 @@ public class SetOperation implements BlockOperation {
         return selection.getVolume();
     }
 
+    @Override
+    @Nullable
+    public Long getRandomSeed() {
+        return patternList.size() > 1 ? random.getSeed() : null;
+    }
+
+
+    @Override
+    @NotNull
+    public ChunkEstimate estimateChunk(int chunkX, int chunkZ, @NotNull ChunkSnapshot snapshot) {
+        // Same visiting order and stream as execute, so a seeded run changes exactly these blocks.
+        BlockData uniformBlockData = patternList.size() == 1 ? patternList.get(0).blockData : null;
+        SplittableRandom chunkRandom = uniformBlockData == null ? random.forChunk(chunkX, chunkZ) : null;
+        long[] changed = {0};
+        long blocksRead = SelectionChunks.forEachInChunk(selection, chunkX, chunkZ, (x, y, z) -> {
+            BlockData targetBlockData = uniformBlockData != null ? uniformBlockData : BlockPatternParser.selectRandomBlockData(patternList, chunkRandom);
+            if (targetBlockData != null && !snapshot.getBlockData(x & 15, y, z & 15).matches(targetBlockData)) {
+                changed[0]++;
+            }
+        });
+        return new ChunkEstimate(blocksRead, changed[0]);
+    }
 
     @Override
     public CompletableFuture<ChangeSet> execute(@NotNull AnyARES_Core core) {
         CompletableFuture<ChangeSet> future = new CompletableFuture<>();
         World world = selection.getWorld();
-        ChangeSet changeSet = new ChangeSet(world);
 
         if (patternList.isEmpty()) {
             future.completeExceptionally(new IllegalStateException("Cannot execute SetOperation with an empty pattern list."));
             return future;
         }
 
-        Bukkit.getGlobalRegionScheduler().execute(core, () -> {
-            try {
-                Iterator<Block> blockIterator = selection.getBlockIterator();
-                while (blockIterator.hasNext()) {
-                    Block currentBlock = blockIterator.next();
+        // A single-block pattern needs no sampling, and whole sections of a cuboid can be filled in one write.
+        BlockData uniformBlockData = patternList.size() == 1 ? patternList.get(0).blockData : null;
+        boolean cuboid = selection instanceof CuboidSelection;
+        Location bbMin = selection.getMinimumPoint();
+        Location bbMax = selection.getMaximumPoint();
+        int fullMinY = Math.max(bbMin.getBlockY(), world.getMinHeight());
+        int fullMaxY = Math.min(bbMax.getBlockY(), world.getMaxHeight() - 1);
+
+        boolean deferUpdates = ChunkDispatcher.defersUpdates(core, this);
+        ChunkDispatcher.dispatch(core, this, world, SelectionChunks.getChunks(selection), (chunkX, chunkZ, chunkChanges) -> new WorkUnit() {
+            private SelectionChunks.ChunkCursor cursor;
+            private final ExtentWriter writer = new ExtentWriter(world, chunkX, chunkZ, chunkChanges).withDeferredUpdates(deferUpdates);
+            private final boolean sectionFill = uniformBlockData != null && cuboid
+                    && bbMin.getBlockX() <= chunkX << 4 && bbMax.getBlockX() >= (chunkX << 4) + 15
+                    && bbMin.getBlockZ() <= chunkZ << 4 && bbMax.getBlockZ() >= (chunkZ << 4) + 15;
+            private final SplittableRandom chunkRandom = uniformBlockData == null ? random.forChunk(chunkX, chunkZ) : null;
+            private long processed = 0;
 
-                    BlockData targetBlockData = BlockPatternParser.selectRandomBlockData(patternList);
+            @Override
+            public boolean process(long deadlineNanos) {
+                if (cursor == null) {
+                    cursor = SelectionChunks.cursor(selection, chunkX, chunkZ);
+                }
+                int sinceCheck = 0;
+                while (true) {
+                    if (++sinceCheck >= DEADLINE_CHECK_INTERVAL) {
+                        sinceCheck = 0;
+                        if (System.nanoTime() >= deadlineNanos) {
+                            return false;
+                        }
+                    }
+                    if (!cursor.next()) {
+                        break;
+                    }
+                    int y = cursor.y();
+                    if (sectionFill && (y & 15) == 0 && y >= fullMinY && y + 15 <= fullMaxY) {
+                        // The cuboid covers this whole section: the cursor is at its first block.
+                        writer.fillSection(y >> 4, uniformBlockData);
+                        processed += ExtentWriter.SECTION_VOLUME;
+                        cursor.skipToLayer(y + 16);
+                        // A section fill is 4096 writes, so the budget is checked after each one.
+                        sinceCheck = 0;
+                        if (System.nanoTime() >= deadlineNanos) {
+                            return false;
+                        }
+                        continue;
+                    }
+                    processed++;
+                    BlockData targetBlockData = uniformBlockData != null ? uniformBlockData : BlockPatternParser.selectRandomBlockData(patternList, chunkRandom);
                     if (targetBlockData == null) {
                         core.getLogger().warning("selectRandomBlockData returned null in SetOperation. Skipping block.");
                         continue;
                     }
+                    // Unchanged blocks are skipped by the writer when the section is flushed.
+                    writer.setBlock(cursor.x(), cursor.y(), cursor.z(), targetBlockData);
+                }
+                writer.flush();
+                return true;
+            }
 
-                    BlockData oldBlockData = currentBlock.getBlockData();
-                    if (!oldBlockData.matches(targetBlockData)) {
-                        changeSet.recordChange(currentBlock, targetBlockData);
-                        currentBlock.setBlockData(targetBlockData, false);
-                    }
+            @Override
+            public long getBlocksProcessed() {
+                return processed;
+            }
+        }).whenComplete((changeSet, throwable) -> {
+            if (throwable != null) {
+                if (throwable instanceof OperationCancelledException) {
+                    future.completeExceptionally(throwable); // Carries the partial changes for undo.
+                    return;
                 }
+                core.getLogger().log(Level.SEVERE, "Error during SetOperation execution for " + selection.getTypeName() + ": ", throwable);
+                future.completeExceptionally(new RuntimeException("Failed to set blocks: " + throwable.getMessage(), throwable));
+            } else {
                 future.complete(changeSet);
-            } catch (Exception e) {
-                core.getLogger().log(Level.SEVERE, "Error during SetOperation execution for " + selection.getTypeName() + ": ", e);
-                future.completeExceptionally(new RuntimeException("Failed to set blocks: " + e.getMessage(), e));
             }
         });
         return future;
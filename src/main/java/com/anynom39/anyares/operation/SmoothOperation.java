@@ -0,0 +1,282 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.history.ChangeSet;
+import com.anynom39.anyares.selection.Selection;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+
+/**
+ * Smooths the terrain in a selection by blurring its heightmap.
+ * <p>
+ * The ground of every column (see {@link GroundScanner}) is read from snapshots on the worker
+ * pool, blurred with a 5x5 Gaussian kernel as often as asked, with the rows of each pass split
+ * into bands that run in parallel, and rounded. Only the columns whose height changed are then
+ * written: each is shifted up or down by the difference, so the surface layers follow the new
+ * ground, and air fills what a lowered column gave up.
+ */
+public class SmoothOperation implements BlockOperation {
+
+    private static final int KERNEL_RADIUS = 2;
+    private static final double[] KERNEL = gaussianKernel(KERNEL_RADIUS, 1.0);
+    private static final int ROWS_PER_BAND = 32;
+
+    private final Player player;
+    private final Selection selection;
+    private final int iterations;
+    private final GroundScanner ground;
+    private final int minX, minZ, maxX, maxZ;
+    private final int width, length;
+
+    public SmoothOperation(@Nullable Player player, @NotNull Selection selection, int iterations) {
+        this.player = player;
+        this.selection = Objects.requireNonNull(selection, "Selection cannot be null");
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be at least 1.");
+        }
+        this.iterations = iterations;
+        this.ground = new GroundScanner(selection);
+        Location bbMin = selection.getMinimumPoint();
+        Location bbMax = selection.getMaximumPoint();
+        this.minX = bbMin.getBlockX();
+        this.minZ = bbMin.getBlockZ();
+        this.maxX = bbMax.getBlockX();
+        this.maxZ = bbMax.getBlockZ();
+        this.width = maxX - minX + 1;
+        this.length = maxZ - minZ + 1;
+    }
+
+    @Override
+    @Nullable
+    public Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    @NotNull
+    public Selection getSelection() {
+        return selection;
+    }
+
+    @Override
+    public String getOperationName() {
+        return "Smooth " + selection.getTypeName() + " (" + iterations + (iterations == 1 ? " iteration)" : " iterations)");
+    }
+
+    /**
+     * At most every block of the selection, if every column changes.
+     */
+    @Override
+    public long getEstimatedBlocks() {
+        return selection.getVolume();
+    }
+
+    @Override
+    public CompletableFuture<ChangeSet> execute(@NotNull AnyARES_Core core) {
+        CompletableFuture<ChangeSet> future = new CompletableFuture<>();
+        World world = selection.getWorld();
+        Executor workers = core.getTaskEngine().getWorkerExecutor();
+        int[] heights = new int[width * length];
+        Arrays.fill(heights, GroundScanner.NO_GROUND);
+        Map<ChunkPos, ChunkSnapshot> snapshots = new ConcurrentHashMap<>();
+        BlockData air = Bukkit.createBlockData(Material.AIR);
+        boolean deferUpdates = ChunkDispatcher.defersUpdates(core, this);
+
+        ChunkDispatcher.dispatchSnapshots(core, this, world, SelectionChunks.getChunks(selection), (chunkX, chunkZ, snapshot, unused) -> {
+            snapshots.put(new ChunkPos(chunkX, chunkZ), snapshot);
+            long columns = 0;
+            for (int z = Math.max(minZ, chunkZ << 4); z <= Math.min(maxZ, (chunkZ << 4) + 15); z++) {
+                for (int x = Math.max(minX, chunkX << 4); x <= Math.min(maxX, (chunkX << 4) + 15); x++) {
+                    heights[(z - minZ) * width + (x - minX)] = ground.groundY(snapshot, x, z); // Chunks own disjoint cells.
+                    columns++;
+                }
+            }
+            return new ChunkDispatcher.SnapshotRead(columns, null);
+        }).thenCompose(ignored -> {
+            double[] initial = new double[heights.length];
+            for (int i = 0; i < heights.length; i++) {
+                initial[i] = heights[i];
+            }
+            return blur(initial, heights, iterations, workers);
+        }).thenCompose(blurred -> {
+            int[] targets = new int[heights.length];
+            Set<ChunkPos> changedChunks = new LinkedHashSet<>();
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    int index = (z - minZ) * width + (x - minX);
+                    targets[index] = heights[index] == GroundScanner.NO_GROUND ? GroundScanner.NO_GROUND : (int) Math.floor(blurred[index] + 0.5);
+                    if (targets[index] != heights[index]) {
+                        changedChunks.add(new ChunkPos(x >> 4, z >> 4));
+                    }
+                }
+            }
+            return ChunkDispatcher.dispatch(core, this, world, new ArrayList<>(changedChunks), (chunkX, chunkZ, chunkChanges) ->
+                    new ColumnWriter(chunkX, chunkZ, heights, targets, snapshots.get(new ChunkPos(chunkX, chunkZ)), air,
+                            new ExtentWriter(world, chunkX, chunkZ, chunkChanges).withDeferredUpdates(deferUpdates)));
+        }).whenComplete((changeSet, throwable) -> {
+            snapshots.clear();
+            if (throwable != null) {
+                OperationCancelledException cancelled = OperationCancelledException.find(throwable); // thenCompose wraps it.
+                if (cancelled != null) {
+                    future.completeExceptionally(cancelled); // Carries the partial changes for undo.
+                    return;
+                }
+                core.getLogger().log(Level.SEVERE, "Error during SmoothOperation (" + getOperationName() + ") execution: ", throwable);
+                future.completeExceptionally(new RuntimeException("Failed to smooth selection: " + throwable.getMessage(), throwable));
+            } else {
+                future.complete(changeSet);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs the remaining passes of the kernel, each split into bands of rows on the worker pool.
+     * Passes are chained rather than joined, so no worker ever blocks on another.
+     */
+    private CompletableFuture<double[]> blur(double[] source, int[] heights, int remaining, Executor workers) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(source);
+        }
+        double[] target = new double[source.length];
+        List<CompletableFuture<Void>> bands = new ArrayList<>();
+        for (int fromRow = 0; fromRow < length; fromRow += ROWS_PER_BAND) {
+            int from = fromRow, to = Math.min(length, fromRow + ROWS_PER_BAND);
+            bands.add(CompletableFuture.runAsync(() -> blurRows(source, target, heights, from, to), workers));
+        }
+        return CompletableFuture.allOf(bands.toArray(new CompletableFuture[0]))
+                .thenCompose(ignored -> blur(target, heights, remaining - 1, workers));
+    }
+
+    /**
+     * One pass of the kernel over rows {@code [fromRow, toRow)}. Columns without ground neither
+     * change nor count as neighbours; the weights of the remaining neighbours are renormalised.
+     */
+    private void blurRows(double[] source, double[] target, int[] heights, int fromRow, int toRow) {
+        int size = 2 * KERNEL_RADIUS + 1;
+        for (int row = fromRow; row < toRow; row++) {
+            for (int column = 0; column < width; column++) {
+                int index = row * width + column;
+                if (heights[index] == GroundScanner.NO_GROUND) {
+                    target[index] = source[index];
+                    continue;
+                }
+                double sum = 0, weights = 0;
+                for (int dz = -KERNEL_RADIUS; dz <= KERNEL_RADIUS; dz++) {
+                    int neighbourRow = row + dz;
+                    if (neighbourRow < 0 || neighbourRow >= length) continue;
+                    for (int dx = -KERNEL_RADIUS; dx <= KERNEL_RADIUS; dx++) {
+                        int neighbourColumn = column + dx;
+                        if (neighbourColumn < 0 || neighbourColumn >= width) continue;
+                        int neighbour = neighbourRow * width + neighbourColumn;
+                        if (heights[neighbour] == GroundScanner.NO_GROUND) continue;
+                        double weight = KERNEL[(dz + KERNEL_RADIUS) * size + dx + KERNEL_RADIUS];
+                        sum += weight * source[neighbour];
+                        weights += weight;
+                    }
+                }
+                target[index] = sum / weights;
+            }
+        }
+    }
+
+    private static double[] gaussianKernel(int radius, double sigma) {
+        int size = 2 * radius + 1;
+        double[] kernel = new double[size * size];
+        for (int dz = -radius; dz <= radius; dz++) {
+            for (int dx = -radius; dx <= radius; dx++) {
+                kernel[(dz + radius) * size + dx + radius] = Math.exp(-(dx * dx + dz * dz) / (2 * sigma * sigma));
+            }
+        }
+        return kernel;
+    }
+
+    /**
+     * Rewrites the changed columns of one chunk from its snapshot, in z -> x order. The deadline
+     * is checked per column, which is at most the world's height in blocks.
+     */
+    private final class ColumnWriter implements WorkUnit {
+        private final int[] heights;
+        private final int[] targets;
+        private final ChunkSnapshot snapshot;
+        private final BlockData air;
+        private final ExtentWriter writer;
+        private final int fromX, toX, toZ;
+        private int x, z;
+        private long processed = 0;
+
+        ColumnWriter(int chunkX, int chunkZ, int[] heights, int[] targets, ChunkSnapshot snapshot, BlockData air, ExtentWriter writer) {
+            this.heights = heights;
+            this.targets = targets;
+            this.snapshot = snapshot;
+            this.air = air;
+            this.writer = writer;
+            this.fromX = Math.max(minX, chunkX << 4);
+            this.toX = Math.min(maxX, (chunkX << 4) + 15);
+            this.toZ = Math.min(maxZ, (chunkZ << 4) + 15);
+            this.x = fromX;
+            this.z = Math.max(minZ, chunkZ << 4);
+        }
+
+        @Override
+        public boolean process(long deadlineNanos) {
+            while (z <= toZ) {
+                if (System.nanoTime() >= deadlineNanos) {
+                    return false;
+                }
+                int index = (z - minZ) * width + (x - minX);
+                if (targets[index] != heights[index]) {
+                    processed += shiftColumn(x, z, heights[index], targets[index]);
+                }
+                if (++x > toX) {
+                    x = fromX;
+                    z++;
+                }
+            }
+            writer.flush();
+            return true;
+        }
+
+        @Override
+        public long getBlocksProcessed() {
+            return processed;
+        }
+
+        /**
+         * Moves the column's selected blocks by {@code newGround - oldGround}: each takes the
+         * state of the block that far below it, or air if that lies above the old ground.
+         */
+        private int shiftColumn(int x, int z, int oldGround, int newGround) {
+            int delta = newGround - oldGround;
+            int worldMinY = selection.getWorld().getMinHeight();
+            int visited = 0;
+            for (int y = Math.max(oldGround, newGround); y >= ground.getMinY(); y--) {
+                int sourceY = y - delta;
+                if (sourceY < worldMinY) break;
+                if (!selection.contains(x, y, z)) continue;
+                writer.setBlock(x, y, z, sourceY > oldGround ? air : snapshot.getBlockData(x & 15, sourceY, z & 15));
+                visited++;
+            }
+            return visited;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,280 @@
+package com.anynom39.anyares.operation;
+
+import com.anynom39.anyares.AnyARES_Core;
+import com.anynom39.anyares.history.ChangeSet;
+import com.anynom39.anyares.selection.Selection;
+import com.anynom39.anyares.util.BlockPatternParser;
+import com.anynom39.anyares.util.BlockPatternParser.WeightedBlockData;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Sets only the boundary of a selection to a pattern: its side walls, all its faces, or a
+ * hollow shell of a given thickness.
+ * <p>
+ * A block is on the boundary if one of its neighbours up to {@code thickness} blocks away
+ * along a considered axis lies outside the selection (X and Z for walls, all three axes
+ * otherwise). The boundary is worked out per row from the shape's own runs (see
+ * {@link RowSpans}): the row's runs are intersected with those of its neighbouring rows and
+ * shrunk at their ends, and only what is left over is visited. Shelling a sphere of radius
+ * 100 therefore visits about 100k blocks instead of the 4M inside it.
+ */
+public class SurfaceOperation implements DryRunnable {
+
+    public enum Surface {
+        WALLS("Walls"),
+        FACES("Faces"),
+        HOLLOW("Hollow shell");
+
+        private final String displayName;
+
+        Surface(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final Player player;
+    private final Selection selection;
+    private final Surface surface;
+    private final int thickness;
+    private final List<WeightedBlockData> patternList;
+    private final String operationName;
+    private final PatternRandom random;
+    private final RowSpans rows;
+
+    /**
+     * @param thickness How deep the boundary is; walls and faces use 1.
+     * @param seed      Seed for sampling the pattern, or null for a random one.
+     */
+    public SurfaceOperation(@Nullable Player player, @NotNull Selection selection, @NotNull Surface surface, int thickness,
+                            @NotNull List<WeightedBlockData> patternList, @NotNull String rawPatternString, @Nullable Long seed) {
+        this.player = player;
+        this.selection = Objects.requireNonNull(selection, "Selection cannot be null");
+        this.surface = Objects.requireNonNull(surface, "Surface cannot be null");
+        this.patternList = Objects.requireNonNull(patternList, "Pattern list cannot be null");
+        if (patternList.isEmpty()) {
+            throw new IllegalArgumentException("Pattern list cannot be empty for SurfaceOperation.");
+        }
+        if (thickness < 1) {
+            throw new IllegalArgumentException("Thickness must be at least 1.");
+        }
+        this.thickness = thickness;
+        this.operationName = surface.getDisplayName() + " of " + selection.getTypeName() + " to "
+                + (rawPatternString.length() > 20 ? rawPatternString.substring(0, 17) + "..." : rawPatternString);
+        this.random = PatternRandom.create(seed);
+        this.rows = new RowSpans(selection);
+    }
+
+    @Override
+    @Nullable
+    public Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    @NotNull
+    public Selection getSelection() {
+        return selection;
+    }
+
+    @Override
+    public String getOperationName() {
+        return operationName;
+    }
+
+    /**
+     * The bounding box's surface scaled by how much of the box the shape fills. Exact for
+     * cuboids and close for spheres and upright cylinders.
+     */
+    @Override
+    public long getEstimatedBlocks() {
+        Location bbMin = selection.getMinimumPoint();
+        Location bbMax = selection.getMaximumPoint();
+        long width = bbMax.getBlockX() - bbMin.getBlockX() + 1;
+        long height = bbMax.getBlockY() - bbMin.getBlockY() + 1;
+        long length = bbMax.getBlockZ() - bbMin.getBlockZ() + 1;
+        long boxSurface = surface == Surface.WALLS
+                ? 2 * (width + length) * height
+                : 2 * (width * length + width * height + length * height) * thickness;
+        double filled = Math.min(1.0, (double) selection.getVolume() / (width * height * length));
+        return Math.min(selection.getVolume(), (long) (boxSurface * filled));
+    }
+
+    @Override
+    @Nullable
+    public Long getRandomSeed() {
+        return patternList.size() > 1 ? random.getSeed() : null;
+    }
+
+    @Override
+    public CompletableFuture<ChangeSet> execute(@NotNull AnyARES_Core core) {
+        CompletableFuture<ChangeSet> future = new CompletableFuture<>();
+        World world = selection.getWorld();
+        int minY = Math.max(rows.getMinY(), world.getMinHeight());
+        int maxY = Math.min(rows.getMaxY(), world.getMaxHeight() - 1);
+        boolean deferUpdates = ChunkDispatcher.defersUpdates(core, this);
+
+        ChunkDispatcher.dispatch(core, this, world, SelectionChunks.getChunks(selection), (chunkX, chunkZ, chunkChanges) -> new WorkUnit() {
+            private final BoundaryWalker walker = new BoundaryWalker();
+            private final ExtentWriter writer = new ExtentWriter(world, chunkX, chunkZ, chunkChanges).withDeferredUpdates(deferUpdates);
+            private final SplittableRandom chunkRandom = random.forChunk(chunkX, chunkZ);
+            private int y = minY;
+            private long processed = 0;
+
+            @Override
+            public boolean process(long deadlineNanos) {
+                // A layer of one chunk holds at most 256 boundary blocks, so the deadline is checked per layer.
+                while (y <= maxY) {
+                    if (System.nanoTime() >= deadlineNanos) {
+                        return false;
+                    }
+                    processed += walker.visitLayer(chunkX, chunkZ, y++, (x, blockY, z) -> {
+                        BlockData targetBlockData = BlockPatternParser.selectRandomBlockData(patternList, chunkRandom);
+                        if (targetBlockData != null) {
+                            writer.setBlock(x, blockY, z, targetBlockData);
+                        }
+                    });
+                }
+                writer.flush();
+                return true;
+            }
+
+            @Override
+            public long getBlocksProcessed() {
+                return processed;
+            }
+        }).whenComplete((changeSet, throwable) -> {
+            if (throwable != null) {
+                if (throwable instanceof OperationCancelledException) {
+                    future.completeExceptionally(throwable); // Carries the partial changes for undo.
+                    return;
+                }
+                core.getLogger().log(Level.SEVERE, "Error during SurfaceOperation (" + getOperationName() + ") execution: ", throwable);
+                future.completeExceptionally(new RuntimeException("Failed to set " + surface.getDisplayName().toLowerCase() + ": " + throwable.getMessage(), throwable));
+            } else {
+                future.complete(changeSet);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    @NotNull
+    public ChunkEstimate estimateChunk(int chunkX, int chunkZ, @NotNull ChunkSnapshot snapshot) {
+        World world = selection.getWorld();
+        BoundaryWalker walker = new BoundaryWalker();
+        SplittableRandom chunkRandom = random.forChunk(chunkX, chunkZ);
+        long[] changed = {0};
+        long blocksRead = 0;
+        for (int y = Math.max(rows.getMinY(), world.getMinHeight()); y <= Math.min(rows.getMaxY(), world.getMaxHeight() - 1); y++) {
+            blocksRead += walker.visitLayer(chunkX, chunkZ, y, (x, blockY, z) -> {
+                BlockData targetBlockData = BlockPatternParser.selectRandomBlockData(patternList, chunkRandom);
+                if (targetBlockData != null && !snapshot.getBlockData(x & 15, blockY, z & 15).matches(targetBlockData)) {
+                    changed[0]++;
+                }
+            });
+        }
+        return new ChunkEstimate(blocksRead, changed[0]);
+    }
+
+    /**
+     * Walks the boundary row by row. Holds scratch buffers, so each thread needs its own.
+     */
+    private final class BoundaryWalker {
+        private final int[] own = new int[rows.bufferSize()];
+        private final int[] neighbour = new int[rows.bufferSize()];
+        private int[] interior = new int[rows.bufferSize()];
+        private int[] scratch = new int[rows.bufferSize()];
+
+        /**
+         * Visits the boundary blocks of one chunk column's layer in z -> x order.
+         *
+         * @return How many blocks were visited.
+         */
+        long visitLayer(int chunkX, int chunkZ, int y, SelectionChunks.BlockVisitor visitor) {
+            int minZ = Math.max(rows.getMinZ(), chunkZ << 4);
+            int maxZ = Math.min(rows.getMaxZ(), (chunkZ << 4) + 15);
+            long visited = 0;
+            for (int z = minZ; z <= maxZ; z++) {
+                visited += visitRow(y, z, chunkX << 4, (chunkX << 4) + 15, visitor);
+            }
+            return visited;
+        }
+
+        private int visitRow(int y, int z, int minX, int maxX, SelectionChunks.BlockVisitor visitor) {
+            int ownCount = rows.spans(y, z, own);
+            if (ownCount == 0 || own[2 * ownCount - 1] < minX || own[0] > maxX) {
+                return 0;
+            }
+
+            // Interior: blocks whose neighbours up to `thickness` away are all selected. Along X
+            // that shrinks each run at both ends; along Z (and Y) it intersects with the neighbouring rows.
+            int interiorCount = 0;
+            for (int i = 0; i < ownCount; i++) {
+                int start = own[2 * i] + thickness;
+                int end = own[2 * i + 1] - thickness;
+                if (start <= end) {
+                    interior[2 * interiorCount] = start;
+                    interior[2 * interiorCount + 1] = end;
+                    interiorCount++;
+                }
+            }
+            for (int d = 1; d <= thickness && interiorCount > 0; d++) {
+                interiorCount = intersectWithRow(y, z - d, interiorCount);
+                interiorCount = intersectWithRow(y, z + d, interiorCount);
+                if (surface != Surface.WALLS) {
+                    interiorCount = intersectWithRow(y - d, z, interiorCount);
+                    interiorCount = intersectWithRow(y + d, z, interiorCount);
+                }
+            }
+
+            // Boundary = own runs minus the interior, clipped to the chunk.
+            int visited = 0;
+            int next = 0;
+            for (int i = 0; i < ownCount; i++) {
+                int x = Math.max(own[2 * i], minX);
+                int end = Math.min(own[2 * i + 1], maxX);
+                while (x <= end) {
+                    while (next < interiorCount && interior[2 * next + 1] < x) next++;
+                    if (next < interiorCount && interior[2 * next] <= x) {
+                        x = interior[2 * next + 1] + 1; // Jump over the interior.
+                        continue;
+                    }
+                    int runEnd = next < interiorCount ? Math.min(end, interior[2 * next] - 1) : end;
+                    for (; x <= runEnd; x++) {
+                        visitor.visit(x, y, z);
+                        visited++;
+                    }
+                }
+            }
+            return visited;
+        }
+
+        private int intersectWithRow(int y, int z, int interiorCount) {
+            if (interiorCount == 0) {
+                return 0;
+            }
+            int neighbourCount = rows.spans(y, z, neighbour);
+            int count = RowSpans.intersect(interior, interiorCount, neighbour, neighbourCount, scratch);
+            int[] swap = interior;
+            interior = scratch;
+            scratch = swap;
+            return count;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.anynom39.anyares.operation;
+
+/**
+ * A resumable slice of work driven by the {@link com.anynom39.anyares.manager.TaskEngine}.
+ * <p>
+ * The engine calls {@link #process(long)} once per tick until it reports completion.
+ * Implementations keep their own cursor between calls and must return as soon as
+ * practical after {@code System.nanoTime()} passes the given deadline.
+ */
+@FunctionalInterface
+public interface WorkUnit {
+
+    /**
+     * How many blocks a unit may handle between two deadline checks.
+     * Reading the clock per block costs more than the check saves.
+     */
+    int DEADLINE_CHECK_INTERVAL = 64;
+
+    /**
+     * Continues the work until it is finished or the deadline has passed.
+     *
+     * @param deadlineNanos {@link System#nanoTime()} value after which the unit should yield.
+     * @return true once the unit has no more work to do, false to be resumed next tick.
+     * @throws Exception if the work failed; the unit will not be resumed.
+     */
+    boolean process(long deadlineNanos) throws Exception;
+
+    /**
+     * @return How many blocks the unit has visited so far, for progress reporting. Units that do not track this return 0.
+     */
+    default long getBlocksProcessed() {
+        return 0;
+    }
+}
\ No newline at end of file
@@ -117,6 +117,13 @@ public class CuboidSelection implements Selection {
                 z >= minZ && z <= maxZ;
     }
 
+    @Override
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX &&
+                y >= minY && y <= maxY &&
+                z >= minZ && z <= maxZ;
+    }
+
     @Override
     @NotNull
     public Iterator<Block> getBlockIterator() {
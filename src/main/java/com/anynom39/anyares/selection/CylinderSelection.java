@@ -11,7 +11,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
-public class CylinderSelection implements Selection {
+public class CylinderSelection implements Selection, RowSpanShape {
 
     private final World world;
     private final Location baseCenter1;
@@ -115,6 +115,64 @@ public class CylinderSelection implements Selection {
         return perpendicularVector.lengthSquared() <= radiusSquared;
     }
 
+    @Override
+    public boolean contains(int x, int y, int z) {
+        double dx = x + 0.5 - baseCenter1.getX();
+        double dy = y + 0.5 - baseCenter1.getY();
+        double dz = z + 0.5 - baseCenter1.getZ();
+        double projectionLength = dx * axisVector.getX() + dy * axisVector.getY() + dz * axisVector.getZ();
+        if (projectionLength < 0 || projectionLength > this.height) {
+            return false;
+        }
+        double px = dx - axisVector.getX() * projectionLength;
+        double py = dy - axisVector.getY() * projectionLength;
+        double pz = dz - axisVector.getZ() * projectionLength;
+        return px * px + py * py + pz * pz <= radiusSquared;
+    }
+
+    /**
+     * A cylinder is convex, so every row meets it in one run. With {@code u} the row's offset
+     * from the first base along X, the axial bound is linear in {@code u} and the radial bound
+     * quadratic; the run is where both hold.
+     */
+    @Override
+    public boolean rowSpan(int y, int z, @NotNull int[] span) {
+        double ax = axisVector.getX();
+        double b = y + 0.5 - baseCenter1.getY();
+        double c = z + 0.5 - baseCenter1.getZ();
+        double k = b * axisVector.getY() + c * axisVector.getZ(); // Projection = u * ax + k.
+
+        double lo = Double.NEGATIVE_INFINITY;
+        double hi = Double.POSITIVE_INFINITY;
+        if (Math.abs(ax) < 1e-9) {
+            if (k < 0 || k > height) return false;
+        } else {
+            double u1 = -k / ax;
+            double u2 = (height - k) / ax;
+            lo = Math.min(u1, u2);
+            hi = Math.max(u1, u2);
+        }
+
+        // Squared distance from the axis: (1 - ax^2) u^2 - 2 ax k u + (b^2 + c^2 - k^2).
+        double qa = 1 - ax * ax;
+        double qb = -2 * ax * k;
+        double qc = b * b + c * c - k * k - radiusSquared;
+        if (qa < 1e-9) { // Axis along X: the distance does not depend on u.
+            if (qc > 0) return false;
+        } else {
+            double discriminant = qb * qb - 4 * qa * qc;
+            if (discriminant < 0) return false;
+            double root = Math.sqrt(discriminant);
+            lo = Math.max(lo, (-qb - root) / (2 * qa));
+            hi = Math.min(hi, (-qb + root) / (2 * qa));
+        }
+        if (lo > hi || Double.isInfinite(lo) || Double.isInfinite(hi)) {
+            return false;
+        }
+        double center = baseCenter1.getX() + (lo + hi) / 2;
+        return RowSpanShape.exactSpan(this, y, z, center, (hi - lo) / 2, span);
+    }
+
     @NotNull
     @Override
     public Iterator<Block> getBlockIterator() {
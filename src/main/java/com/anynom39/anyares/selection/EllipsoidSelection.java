@@ -10,7 +10,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
-public class EllipsoidSelection implements Selection {
+public class EllipsoidSelection implements Selection, RowSpanShape {
 
     private final World world;
     private final Location center;
@@ -76,6 +76,22 @@ public class EllipsoidSelection implements Selection {
         return (dx * dx / radiusXSq) + (dy * dy / radiusYSq) + (dz * dz / radiusZSq) <= 1.0001;
     }
 
+    @Override
+    public boolean rowSpan(int y, int z, @NotNull int[] span) {
+        double dy = (y + 0.5) - center.getY();
+        double dz = (z + 0.5) - center.getZ();
+        double remaining = 1.0001 - (dy * dy / radiusYSq) - (dz * dz / radiusZSq);
+        return remaining >= 0 && RowSpanShape.exactSpan(this, y, z, center.getX(), Math.sqrt(remaining * radiusXSq), span);
+    }
+
+    @Override
+    public boolean contains(int x, int y, int z) {
+        double dx = (x + 0.5) - center.getX();
+        double dy = (y + 0.5) - center.getY();
+        double dz = (z + 0.5) - center.getZ();
+        return (dx * dx / radiusXSq) + (dy * dy / radiusYSq) + (dz * dz / radiusZSq) <= 1.0001;
+    }
+
     @NotNull
     @Override
     public Iterator<Block> getBlockIterator() {
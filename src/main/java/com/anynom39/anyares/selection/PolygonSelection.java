@@ -136,6 +136,53 @@ public class PolygonSelection implements Selection {
         return (intersections % 2 == 1);
     }
 
+    /**
+     * Finds the selected runs of the row at {@code (y, z)} with a scanline: the edges crossing
+     * the row's center line are sorted, and the blocks between the 1st and 2nd, 3rd and 4th
+     * crossing and so on are inside, exactly as {@link #contains(Location)} decides.
+     *
+     * @param spans Receives the runs as {@code start, end} pairs in ascending X; needs room for
+     *              two ints per polygon vertex.
+     * @return The number of runs. Runs are separated by at least one unselected block.
+     */
+    public int rowSpans(int y, int z, @NotNull int[] spans) {
+        if (y < minY || y > maxY) {
+            return 0;
+        }
+        double testZ = z + 0.5;
+        int n = polygonVertices.size();
+        double[] crossings = new double[n];
+        int crossingCount = 0;
+        for (int i = 0; i < n; i++) {
+            Vector2D p1 = polygonVertices.get(i);
+            Vector2D p2 = polygonVertices.get((i + 1) % n);
+            if ((p1.z <= testZ && testZ < p2.z) || (p2.z <= testZ && testZ < p1.z)) {
+                crossings[crossingCount++] = (p2.x - p1.x) * (testZ - p1.z) / (p2.z - p1.z) + p1.x;
+            }
+        }
+        Arrays.sort(crossings, 0, crossingCount);
+
+        int count = 0;
+        for (int i = 0; i + 1 < crossingCount; i += 2) {
+            // Block x is inside when crossings[i] <= x + 0.5 < crossings[i + 1].
+            int start = (int) Math.ceil(crossings[i] - 0.5);
+            if (start - 0.5 >= crossings[i]) start--;
+            if (start + 0.5 < crossings[i]) start++;
+            int end = (int) Math.ceil(crossings[i + 1] - 0.5) - 1;
+            if (end + 1.5 < crossings[i + 1]) end++;
+            if (end + 0.5 >= crossings[i + 1]) end--;
+            if (start > end) continue;
+            if (count > 0 && start <= spans[2 * count - 1] + 1) {
+                spans[2 * count - 1] = Math.max(spans[2 * count - 1], end); // Touching runs are one run.
+            } else {
+                spans[2 * count] = start;
+                spans[2 * count + 1] = end;
+                count++;
+            }
+        }
+        return count;
+    }
+
     @NotNull
     @Override
     public Iterator<Block> getBlockIterator() {
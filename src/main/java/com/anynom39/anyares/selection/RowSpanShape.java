@@ -0,0 +1,47 @@
+package com.anynom39.anyares.selection;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A selection whose blocks form one contiguous run along X in every row, such as a sphere or
+ * an ellipsoid. Iterators can then walk each row's span directly instead of testing
+ * {@link Selection#contains(int, int, int)} on every cell of the bounding box.
+ */
+public interface RowSpanShape {
+
+    /**
+     * Finds the selected blocks of the row at {@code (y, z)}. The result is exact: a block of the
+     * row is inside the span if and only if the selection contains it.
+     *
+     * @param span Receives the first and last selected X coordinate.
+     * @return false if no block of the row is selected; {@code span} is then undefined.
+     */
+    boolean rowSpan(int y, int z, @NotNull int[] span);
+
+    /**
+     * Turns an approximate span around {@code centerX} into an exact one by checking the
+     * selection at its ends, so floating-point rounding can never add or drop a block.
+     */
+    static boolean exactSpan(@NotNull Selection selection, int y, int z, double centerX, double halfWidth, @NotNull int[] span) {
+        if (Double.isNaN(halfWidth) || halfWidth < 0) {
+            return false;
+        }
+        // Block x is selected when its center x + 0.5 lies within halfWidth of centerX.
+        int minX = (int) Math.ceil(centerX - 0.5 - halfWidth);
+        int maxX = (int) Math.floor(centerX - 0.5 + halfWidth);
+        while (minX <= maxX && !selection.contains(minX, y, z)) minX++;
+        while (maxX >= minX && !selection.contains(maxX, y, z)) maxX--;
+        if (minX > maxX) {
+            int middle = (int) Math.floor(centerX);
+            if (!selection.contains(middle, y, z)) {
+                return false;
+            }
+            minX = maxX = middle;
+        }
+        while (selection.contains(minX - 1, y, z)) minX--;
+        while (selection.contains(maxX + 1, y, z)) maxX++;
+        span[0] = minX;
+        span[1] = maxX;
+        return true;
+    }
+}
\ No newline at end of file
@@ -23,6 +23,14 @@ public interface Selection {
 
     boolean contains(@NotNull Location location);
 
+    /**
+     * Checks whether the block at the given coordinates in this selection's world is selected.
+     * Shapes should override this when they can answer without allocating a {@link Location}.
+     */
+    default boolean contains(int x, int y, int z) {
+        return contains(new Location(getWorld(), x, y, z));
+    }
+
     @NotNull
     Iterator<Block> getBlockIterator();
 
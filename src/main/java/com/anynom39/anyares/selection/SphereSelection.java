@@ -11,7 +11,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
-public class SphereSelection implements Selection {
+public class SphereSelection implements Selection, RowSpanShape {
 
     private final World world;
     private final Location center;
@@ -77,6 +77,22 @@ public class SphereSelection implements Selection {
                 .distanceSquared(center.toVector()) <= radiusSquared;
     }
 
+    @Override
+    public boolean contains(int x, int y, int z) {
+        double dx = x + 0.5 - center.getX();
+        double dy = y + 0.5 - center.getY();
+        double dz = z + 0.5 - center.getZ();
+        return dx * dx + dy * dy + dz * dz <= radiusSquared;
+    }
+
+    @Override
+    public boolean rowSpan(int y, int z, @NotNull int[] span) {
+        double dy = y + 0.5 - center.getY();
+        double dz = z + 0.5 - center.getZ();
+        double remaining = radiusSquared - dy * dy - dz * dz;
+        return remaining >= 0 && RowSpanShape.exactSpan(this, y, z, center.getX(), Math.sqrt(remaining), span);
+    }
+
     @NotNull
     @Override
     public Iterator<Block> getBlockIterator() {
@@ -8,7 +8,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -50,8 +52,6 @@ public class BlockPatternParser {
         }
     }
 
-    private static final Random random = new Random();
-
     @NotNull
     public static List<MaskEntry> parseMaskPattern(@NotNull String maskPatternString) throws IllegalArgumentException {
         List<MaskEntry> maskEntries = new ArrayList<>();
@@ -273,8 +273,21 @@ public class BlockPatternParser {
         return weightedList;
     }
 
+    /**
+     * Samples a pattern with the calling thread's random source. Operations should pass their
+     * own seeded stream instead, see {@link #selectRandomBlockData(List, RandomGenerator)}.
+     */
     @Nullable
     public static BlockData selectRandomBlockData(@NotNull List<WeightedBlockData> weightedBlockDataList) {
+        return selectRandomBlockData(weightedBlockDataList, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Samples a pattern from the given stream, e.g. a chunk's {@link SplittableRandom}, so the
+     * same seed always picks the same blocks.
+     */
+    @Nullable
+    public static BlockData selectRandomBlockData(@NotNull List<WeightedBlockData> weightedBlockDataList, @NotNull RandomGenerator random) {
         if (weightedBlockDataList.isEmpty()) {
             return null;
         }
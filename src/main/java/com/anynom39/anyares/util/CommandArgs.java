@@ -0,0 +1,76 @@
+package com.anynom39.anyares.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pulls flags ({@code -n}) and options with a value ({@code -s 1234}) out of command arguments,
+ * wherever they appear, leaving the positional arguments in order.
+ */
+public final class CommandArgs {
+
+    private final List<String> remaining;
+
+    public CommandArgs(@NotNull String[] args) {
+        this.remaining = new ArrayList<>(Arrays.asList(args));
+    }
+
+    /**
+     * Removes a flag.
+     *
+     * @return Whether it was present.
+     */
+    public boolean takeFlag(@NotNull String flag) {
+        return remaining.removeIf(arg -> arg.equalsIgnoreCase(flag));
+    }
+
+    /**
+     * Removes an option and the value following it.
+     *
+     * @return The value, or null if the option is absent.
+     * @throws IllegalArgumentException If the option has no value.
+     */
+    @Nullable
+    public String takeOption(@NotNull String option) {
+        for (int i = 0; i < remaining.size(); i++) {
+            if (!remaining.get(i).equalsIgnoreCase(option)) continue;
+            if (i + 1 >= remaining.size()) {
+                throw new IllegalArgumentException("Missing value after " + option);
+            }
+            remaining.remove(i);
+            return remaining.remove(i);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the {@code -s <seed>} option used by pattern commands.
+     *
+     * @return The seed, or null if none was given.
+     * @throws IllegalArgumentException If the seed is missing or not a whole number.
+     */
+    @Nullable
+    public Long takeSeed() {
+        String value = takeOption("-s");
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Seed must be a whole number: " + value);
+        }
+    }
+
+    /**
+     * @return The positional arguments left after taking flags and options.
+     */
+    @NotNull
+    public String[] remaining() {
+        return remaining.toArray(new String[0]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.anynom39.anyares.util;
+
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Parses the direction arguments shared by commands such as //flip and //stack.
+ */
+public final class Directions {
+
+    private Directions() {
+    }
+
+    /**
+     * @param input A cardinal direction, its first letter, or {@code me} for the player's facing.
+     * @return The direction, or null if the input is not one.
+     */
+    @Nullable
+    public static BlockFace parse(@NotNull Player player, @NotNull String input) {
+        if (input.equalsIgnoreCase("me")) {
+            return facingOf(player);
+        }
+        return switch (input.toLowerCase(Locale.ROOT)) {
+            case "north", "n" -> BlockFace.NORTH;
+            case "south", "s" -> BlockFace.SOUTH;
+            case "east", "e" -> BlockFace.EAST;
+            case "west", "w" -> BlockFace.WEST;
+            case "up", "u" -> BlockFace.UP;
+            case "down", "d" -> BlockFace.DOWN;
+            default -> null;
+        };
+    }
+
+    /**
+     * The cardinal direction the player looks at; up or down when looking steeply.
+     */
+    @NotNull
+    public static BlockFace facingOf(@NotNull Player player) {
+        float pitch = player.getLocation().getPitch();
+        if (pitch > 67.5f) return BlockFace.DOWN;
+        if (pitch < -67.5f) return BlockFace.UP;
+        return player.getFacing();
+    }
+}
\ No newline at end of file